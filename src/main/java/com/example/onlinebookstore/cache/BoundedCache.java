@@ -0,0 +1,325 @@
+package com.example.onlinebookstore.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+public class BoundedCache<K, V> implements MeterBinder {
+    private static final int SEGMENT_SIZE = 1024;
+    private static final int MAX_SEGMENTS = 16;
+    private final String name;
+    private final long ttl;
+    private final List<Segment> segments;
+    private final ConcurrentMap<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public BoundedCache(String name, int maxSize, long ttl) {
+        this(name, maxSize, ttl, false);
+    }
+
+    public BoundedCache(String name, int maxSize, long ttl, boolean frequencyAdmission) {
+        this.name = name;
+        this.ttl = ttl;
+        int count = Integer.highestOneBit(
+                Math.max(1, Math.min(MAX_SEGMENTS, maxSize / SEGMENT_SIZE)));
+        List<Segment> created = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            created.add(new Segment(maxSize / count, frequencyAdmission));
+        }
+        this.segments = List.copyOf(created);
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = lookup(key);
+        if (value != null) {
+            hits.incrementAndGet();
+            return value;
+        }
+        misses.incrementAndGet();
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = loading.putIfAbsent(key, future);
+        if (inFlight != null) {
+            return join(inFlight);
+        }
+        long loadGeneration = generation.get();
+        try {
+            V loaded = loader.apply(key);
+            complete(key, future, loaded, loadGeneration);
+            future.complete(loaded);
+            return loaded;
+        } catch (RuntimeException | Error e) {
+            loading.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public Map<K, V> getAll(Collection<? extends K> keys,
+                            Function<? super Set<K>, ? extends Map<K, V>> loader) {
+        Map<K, V> values = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> owned = new LinkedHashMap<>();
+        Set<K> missing = new LinkedHashSet<>();
+        for (K key : keys) {
+            if (values.containsKey(key) || missing.contains(key)) {
+                continue;
+            }
+            V value = lookup(key);
+            if (value != null) {
+                hits.incrementAndGet();
+                values.put(key, value);
+                continue;
+            }
+            misses.incrementAndGet();
+            missing.add(key);
+            CompletableFuture<V> future = new CompletableFuture<>();
+            if (loading.putIfAbsent(key, future) == null) {
+                owned.put(key, future);
+            }
+        }
+        if (missing.isEmpty()) {
+            return values;
+        }
+        long loadGeneration = generation.get();
+        try {
+            Map<K, V> loaded = loader.apply(Collections.unmodifiableSet(missing));
+            owned.forEach((key, future) -> complete(key, future, loaded.get(key), loadGeneration));
+            owned.forEach((key, future) -> future.complete(loaded.get(key)));
+            missing.forEach(key -> {
+                V value = loaded.get(key);
+                if (value != null) {
+                    values.put(key, value);
+                }
+            });
+            return values;
+        } catch (RuntimeException | Error e) {
+            owned.forEach((key, future) -> {
+                loading.remove(key, future);
+                future.completeExceptionally(e);
+            });
+            throw e;
+        }
+    }
+
+    public V getIfPresent(K key) {
+        V value = lookup(key);
+        if (value != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return value;
+    }
+
+    public void put(K key, V value) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.store(key, value, generation.get());
+        }
+    }
+
+    public void invalidate(K key) {
+        if (key == null) {
+            return;
+        }
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            loading.remove(key);
+            segment.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        loading.clear();
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public long hitCount() {
+        return hits.get();
+    }
+
+    public long missCount() {
+        return misses.get();
+    }
+
+    public long evictionCount() {
+        return evictions.get();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", this, BoundedCache::hitCount)
+                .tag("cache", name)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", this, BoundedCache::missCount)
+                .tag("cache", name)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", this, BoundedCache::evictionCount)
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("cache.size", this, BoundedCache::size)
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    private V lookup(K key) {
+        long now = System.currentTimeMillis();
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.lookup(key, now);
+        }
+    }
+
+    private void complete(K key, CompletableFuture<V> future, V value, long loadGeneration) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            if (loading.remove(key, future) && value != null) {
+                segment.store(key, value, loadGeneration);
+            }
+        }
+    }
+
+    private Segment segmentFor(Object key) {
+        int hash = key.hashCode();
+        return segments.get((hash ^ (hash >>> 16)) & (segments.size() - 1));
+    }
+
+    private V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private final class Segment {
+        private final int maxSize;
+        private final int windowSize;
+        private final FrequencySketch sketch;
+        private final Map<K, Entry<V>> window = new LinkedHashMap<>(16, 0.75f, true);
+        private final Map<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        private Segment(int maxSize, boolean frequencyAdmission) {
+            this.maxSize = maxSize;
+            this.windowSize = frequencyAdmission ? Math.max(1, maxSize / 100) : 0;
+            this.sketch = frequencyAdmission ? new FrequencySketch(maxSize) : null;
+        }
+
+        private V lookup(K key, long now) {
+            if (sketch != null) {
+                sketch.increment(key);
+            }
+            Map<K, Entry<V>> segment = window.containsKey(key) ? window : entries;
+            Entry<V> entry = segment.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.generation() != generation.get() || entry.expiresAt() <= now) {
+                segment.remove(key);
+                return null;
+            }
+            return entry.value();
+        }
+
+        private void store(K key, V value, long valueGeneration) {
+            if (valueGeneration != generation.get()) {
+                return;
+            }
+            Entry<V> entry = new Entry<>(value, System.currentTimeMillis() + ttl,
+                    valueGeneration);
+            if (sketch == null) {
+                entries.put(key, entry);
+                Iterator<Entry<V>> eldest = entries.values().iterator();
+                while (entries.size() > maxSize && eldest.hasNext()) {
+                    eldest.next();
+                    eldest.remove();
+                    evictions.incrementAndGet();
+                }
+                return;
+            }
+            if (entries.containsKey(key)) {
+                entries.put(key, entry);
+                return;
+            }
+            window.put(key, entry);
+            Iterator<Map.Entry<K, Entry<V>>> candidates = window.entrySet().iterator();
+            while (window.size() > windowSize && candidates.hasNext()) {
+                Map.Entry<K, Entry<V>> candidate = candidates.next();
+                candidates.remove();
+                admit(candidate.getKey(), candidate.getValue());
+            }
+        }
+
+        private void remove(K key) {
+            window.remove(key);
+            entries.remove(key);
+        }
+
+        private void clear() {
+            window.clear();
+            entries.clear();
+        }
+
+        private int size() {
+            return window.size() + entries.size();
+        }
+
+        private void admit(K key, Entry<V> entry) {
+            if (entries.size() < maxSize - windowSize) {
+                entries.put(key, entry);
+                return;
+            }
+            evictions.incrementAndGet();
+            Iterator<Map.Entry<K, Entry<V>>> victims = entries.entrySet().iterator();
+            if (!victims.hasNext()) {
+                return;
+            }
+            Map.Entry<K, Entry<V>> victim = victims.next();
+            if (sketch.frequency(key) > sketch.frequency(victim.getKey())) {
+                victims.remove();
+                entries.put(key, entry);
+            }
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt, long generation) {
+    }
+}
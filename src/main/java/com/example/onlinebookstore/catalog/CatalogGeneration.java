@@ -0,0 +1,19 @@
+package com.example.onlinebookstore.catalog;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CatalogGeneration {
+    private final String epoch = UUID.randomUUID().toString();
+    private final AtomicLong generation = new AtomicLong();
+
+    public void increment() {
+        generation.incrementAndGet();
+    }
+
+    public String etag() {
+        return "\"catalog-" + epoch + "-" + generation.get() + "\"";
+    }
+}
@@ -0,0 +1,308 @@
+package com.example.onlinebookstore.catalog;
+
+import com.example.onlinebookstore.dto.book.BookDto;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+public final class CatalogSnapshot {
+    public static final CatalogSnapshot EMPTY = of(List.of());
+    private static final int[] NO_POSITIONS = new int[0];
+    private final long[] ids;
+    private final BookDto[] books;
+    private final int[][] orders;
+    private final long[] categoryIds;
+    private final int[][][] categoryOrders;
+
+    private CatalogSnapshot(BookDto[] books) {
+        this.books = books;
+        this.ids = Arrays.stream(books).mapToLong(BookDto::getId).toArray();
+        this.orders = new int[SortKey.values().length * 2][];
+        for (SortKey key : SortKey.values()) {
+            orders[ordinal(key, Sort.Direction.ASC)] = sort(key.ascending);
+            orders[ordinal(key, Sort.Direction.DESC)] = sort(key.descending);
+        }
+        this.categoryIds = Arrays.stream(books)
+                .flatMap(book -> book.getCategoryIds().stream())
+                .mapToLong(Long::longValue)
+                .distinct()
+                .sorted()
+                .toArray();
+        this.categoryOrders = new int[categoryIds.length][orders.length][];
+        int[] sizes = new int[categoryIds.length];
+        for (BookDto book : books) {
+            book.getCategoryIds().forEach(id -> sizes[Arrays.binarySearch(categoryIds, id)]++);
+        }
+        for (int order = 0; order < orders.length; order++) {
+            int[] filled = new int[categoryIds.length];
+            for (int category = 0; category < categoryIds.length; category++) {
+                categoryOrders[category][order] = new int[sizes[category]];
+            }
+            for (int position : orders[order]) {
+                for (Long id : books[position].getCategoryIds()) {
+                    int category = Arrays.binarySearch(categoryIds, id);
+                    categoryOrders[category][order][filled[category]++] = position;
+                }
+            }
+        }
+    }
+
+    private CatalogSnapshot(long[] ids, BookDto[] books, int[][] orders, long[] categoryIds,
+                            int[][][] categoryOrders) {
+        this.ids = ids;
+        this.books = books;
+        this.orders = orders;
+        this.categoryIds = categoryIds;
+        this.categoryOrders = categoryOrders;
+    }
+
+    public static CatalogSnapshot of(Collection<BookDto> books) {
+        return new CatalogSnapshot(books.stream()
+                .sorted(Comparator.comparing(BookDto::getId))
+                .toArray(BookDto[]::new));
+    }
+
+    public static boolean supports(Sort sort) {
+        List<Sort.Order> sortOrders = sort.toList();
+        return sortOrders.isEmpty()
+                || sortOrders.size() == 1 && SortKey.of(sortOrders.get(0).getProperty()) != null;
+    }
+
+    public int size() {
+        return books.length;
+    }
+
+    public Optional<BookDto> findById(Long id) {
+        int position = Arrays.binarySearch(ids, id);
+        return position >= 0 ? Optional.of(books[position]) : Optional.empty();
+    }
+
+    public List<BookDto> findAll(Pageable pageable) {
+        return page(orders[ordinal(pageable.getSort())], pageable);
+    }
+
+    public List<BookDto> findAllByCategoryId(Long categoryId, Pageable pageable) {
+        int category = Arrays.binarySearch(categoryIds, categoryId);
+        return page(category >= 0
+                ? categoryOrders[category][ordinal(pageable.getSort())]
+                : NO_POSITIONS, pageable);
+    }
+
+    public CatalogSnapshot with(BookDto book) {
+        return without(book.getId()).insert(book);
+    }
+
+    public CatalogSnapshot without(Long id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position < 0) {
+            return this;
+        }
+        Set<Long> bookCategoryIds = books[position].getCategoryIds();
+        long[] updatedIds = new long[ids.length - 1];
+        System.arraycopy(ids, 0, updatedIds, 0, position);
+        System.arraycopy(ids, position + 1, updatedIds, position, ids.length - position - 1);
+        BookDto[] updatedBooks = new BookDto[books.length - 1];
+        System.arraycopy(books, 0, updatedBooks, 0, position);
+        System.arraycopy(books, position + 1, updatedBooks, position, books.length - position - 1);
+        int[][] updatedOrders = new int[orders.length][];
+        for (int order = 0; order < orders.length; order++) {
+            updatedOrders[order] = remove(orders[order], position);
+        }
+        LongStream.Builder keptCategoryIds = LongStream.builder();
+        List<int[][]> keptCategoryOrders = new ArrayList<>(categoryIds.length);
+        for (int category = 0; category < categoryIds.length; category++) {
+            boolean member = bookCategoryIds.contains(categoryIds[category]);
+            if (member && categoryOrders[category][0].length == 1) {
+                continue;
+            }
+            int[][] updated = new int[orders.length][];
+            for (int order = 0; order < orders.length; order++) {
+                int[] positions = categoryOrders[category][order];
+                updated[order] = member
+                        ? remove(positions, position)
+                        : shift(positions, position, -1);
+            }
+            keptCategoryIds.add(categoryIds[category]);
+            keptCategoryOrders.add(updated);
+        }
+        return new CatalogSnapshot(updatedIds, updatedBooks, updatedOrders,
+                keptCategoryIds.build().toArray(), keptCategoryOrders.toArray(int[][][]::new));
+    }
+
+    public CatalogSnapshot withoutCategory(Long categoryId) {
+        if (Arrays.binarySearch(categoryIds, categoryId) < 0) {
+            return this;
+        }
+        return new CatalogSnapshot(Arrays.stream(books)
+                .map(book -> book.getCategoryIds().contains(categoryId)
+                        ? copyWithoutCategory(book, categoryId)
+                        : book)
+                .toArray(BookDto[]::new));
+    }
+
+    private CatalogSnapshot insert(BookDto book) {
+        int position = -Arrays.binarySearch(ids, book.getId()) - 1;
+        long[] updatedIds = new long[ids.length + 1];
+        System.arraycopy(ids, 0, updatedIds, 0, position);
+        System.arraycopy(ids, position, updatedIds, position + 1, ids.length - position);
+        updatedIds[position] = book.getId();
+        BookDto[] updatedBooks = new BookDto[books.length + 1];
+        System.arraycopy(books, 0, updatedBooks, 0, position);
+        System.arraycopy(books, position, updatedBooks, position + 1, books.length - position);
+        updatedBooks[position] = book;
+        int[][] updatedOrders = new int[orders.length][];
+        for (int order = 0; order < orders.length; order++) {
+            updatedOrders[order] = insert(orders[order], book, order, position);
+        }
+        long[] updatedCategoryIds = LongStream.concat(Arrays.stream(categoryIds),
+                        book.getCategoryIds().stream().mapToLong(Long::longValue))
+                .distinct()
+                .sorted()
+                .toArray();
+        int[][][] updatedCategoryOrders = new int[updatedCategoryIds.length][orders.length][];
+        for (int category = 0; category < updatedCategoryIds.length; category++) {
+            int existing = Arrays.binarySearch(categoryIds, updatedCategoryIds[category]);
+            boolean member = book.getCategoryIds().contains(updatedCategoryIds[category]);
+            for (int order = 0; order < orders.length; order++) {
+                int[] positions = existing >= 0 ? categoryOrders[existing][order] : NO_POSITIONS;
+                updatedCategoryOrders[category][order] = member
+                        ? insert(positions, book, order, position)
+                        : shift(positions, position, 1);
+            }
+        }
+        return new CatalogSnapshot(updatedIds, updatedBooks, updatedOrders, updatedCategoryIds,
+                updatedCategoryOrders);
+    }
+
+    private int[] insert(int[] positions, BookDto book, int order, int position) {
+        Comparator<BookDto> comparator = comparator(order);
+        int low = 0;
+        int high = positions.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (comparator.compare(books[positions[middle]], book) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        int[] updated = new int[positions.length + 1];
+        for (int i = 0; i < low; i++) {
+            updated[i] = positions[i] >= position ? positions[i] + 1 : positions[i];
+        }
+        updated[low] = position;
+        for (int i = low; i < positions.length; i++) {
+            updated[i + 1] = positions[i] >= position ? positions[i] + 1 : positions[i];
+        }
+        return updated;
+    }
+
+    private List<BookDto> page(int[] positions, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), positions.length);
+        int to = Math.min(from + pageable.getPageSize(), positions.length);
+        List<BookDto> page = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            page.add(books[positions[i]]);
+        }
+        return page;
+    }
+
+    private int[] sort(Comparator<BookDto> comparator) {
+        return IntStream.range(0, books.length)
+                .boxed()
+                .sorted((left, right) -> comparator.compare(books[left], books[right]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static int ordinal(Sort sort) {
+        Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc(SortKey.ID.property));
+        return ordinal(SortKey.of(order.getProperty()), order.getDirection());
+    }
+
+    private static int ordinal(SortKey key, Sort.Direction direction) {
+        return key.ordinal() * 2 + (direction.isAscending() ? 0 : 1);
+    }
+
+    private static Comparator<BookDto> comparator(int order) {
+        SortKey key = SortKey.values()[order / 2];
+        return order % 2 == 0 ? key.ascending : key.descending;
+    }
+
+    private static int[] shift(int[] positions, int position, int delta) {
+        int[] updated = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            updated[i] = positions[i] >= position ? positions[i] + delta : positions[i];
+        }
+        return updated;
+    }
+
+    private static int[] remove(int[] positions, int position) {
+        int[] updated = new int[positions.length - 1];
+        int next = 0;
+        for (int current : positions) {
+            if (current != position) {
+                updated[next++] = current > position ? current - 1 : current;
+            }
+        }
+        return updated;
+    }
+
+    private static Comparator<String> collation() {
+        Collator collator = Collator.getInstance(Locale.ROOT);
+        collator.setStrength(Collator.PRIMARY);
+        return collator::compare;
+    }
+
+    private static BookDto copyWithoutCategory(BookDto book, Long categoryId) {
+        Set<Long> categoryIds = new HashSet<>(book.getCategoryIds());
+        categoryIds.remove(categoryId);
+        return new BookDto()
+                .setId(book.getId())
+                .setTitle(book.getTitle())
+                .setAuthor(book.getAuthor())
+                .setIsbn(book.getIsbn())
+                .setPrice(book.getPrice())
+                .setDescription(book.getDescription())
+                .setCoverImage(book.getCoverImage())
+                .setCategoryIds(categoryIds)
+                .setVersion(book.getVersion() == null ? null : book.getVersion() + 1);
+    }
+
+    private enum SortKey {
+        ID("id", Comparator.comparing(BookDto::getId)),
+        TITLE("title", Comparator.comparing(BookDto::getTitle, collation())),
+        AUTHOR("author", Comparator.comparing(BookDto::getAuthor, collation())),
+        PRICE("price", Comparator.comparing(BookDto::getPrice));
+
+        private final String property;
+        private final Comparator<BookDto> ascending;
+        private final Comparator<BookDto> descending;
+
+        SortKey(String property, Comparator<BookDto> comparator) {
+            this.property = property;
+            this.ascending = comparator.thenComparing(BookDto::getId);
+            this.descending = comparator.reversed().thenComparing(BookDto::getId);
+        }
+
+        private static SortKey of(String property) {
+            for (SortKey key : values()) {
+                if (key.property.equals(property)) {
+                    return key;
+                }
+            }
+            return null;
+        }
+    }
+}
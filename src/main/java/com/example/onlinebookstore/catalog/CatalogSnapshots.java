@@ -0,0 +1,59 @@
+package com.example.onlinebookstore.catalog;
+
+import com.example.onlinebookstore.dto.book.BookDto;
+import com.example.onlinebookstore.mapper.BookMapper;
+import com.example.onlinebookstore.repository.book.BookRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CatalogSnapshots {
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+    private final boolean enabled;
+    private volatile CatalogSnapshot snapshot = CatalogSnapshot.EMPTY;
+
+    public CatalogSnapshots(BookRepository bookRepository,
+                            BookMapper bookMapper,
+                            @Value("${catalog.snapshot.enabled}") boolean enabled) {
+        this.bookRepository = bookRepository;
+        this.bookMapper = bookMapper;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    public synchronized void rebuild() {
+        if (enabled) {
+            snapshot = CatalogSnapshot.of(bookRepository.findAll().stream()
+                    .map(bookMapper::toDto)
+                    .toList());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CatalogSnapshot current() {
+        return snapshot;
+    }
+
+    public synchronized void put(BookDto book) {
+        if (enabled) {
+            snapshot = snapshot.with(book);
+        }
+    }
+
+    public synchronized void remove(Long id) {
+        if (enabled) {
+            snapshot = snapshot.without(id);
+        }
+    }
+
+    public synchronized void removeCategory(Long categoryId) {
+        if (enabled) {
+            snapshot = snapshot.withoutCategory(categoryId);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.onlinebookstore.catalog;
+
+import com.example.onlinebookstore.dto.category.CategoryDto;
+import com.example.onlinebookstore.mapper.CategoryMapper;
+import com.example.onlinebookstore.repository.category.CategoryRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CategoryRegistry {
+    private final CategoryRepository categoryRepository;
+    private final CategoryMapper categoryMapper;
+    private final boolean enabled;
+    private volatile CategoryTable table = CategoryTable.EMPTY;
+
+    public CategoryRegistry(CategoryRepository categoryRepository,
+                            CategoryMapper categoryMapper,
+                            @Value("${catalog.categories.enabled}") boolean enabled) {
+        this.categoryRepository = categoryRepository;
+        this.categoryMapper = categoryMapper;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    public synchronized void reload() {
+        if (enabled) {
+            table = CategoryTable.of(categoryRepository.findAll().stream()
+                    .map(categoryMapper::toDto)
+                    .toList());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CategoryTable current() {
+        return table;
+    }
+
+    public synchronized void put(CategoryDto category) {
+        if (enabled) {
+            table = table.with(category);
+        }
+    }
+
+    public synchronized void remove(Long id) {
+        if (enabled) {
+            table = table.without(id);
+        }
+    }
+}
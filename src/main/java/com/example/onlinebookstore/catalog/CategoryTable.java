@@ -0,0 +1,96 @@
+package com.example.onlinebookstore.catalog;
+
+import com.example.onlinebookstore.dto.category.CategoryDto;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+public final class CategoryTable {
+    public static final CategoryTable EMPTY = of(List.of());
+    private static final String ID = "id";
+    private static final String NAME = "name";
+    private final long[] ids;
+    private final CategoryDto[] categories;
+    private final int[] byId;
+    private final int[] byName;
+
+    private CategoryTable(CategoryDto[] categories) {
+        this.categories = categories;
+        this.ids = Arrays.stream(categories).mapToLong(CategoryDto::getId).toArray();
+        this.byId = IntStream.range(0, categories.length).toArray();
+        this.byName = IntStream.range(0, categories.length)
+                .boxed()
+                .sorted(Comparator.comparing((Integer position) -> categories[position].getName(),
+                        String.CASE_INSENSITIVE_ORDER).thenComparing(position -> position))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    public static CategoryTable of(Collection<CategoryDto> categories) {
+        return new CategoryTable(categories.stream()
+                .sorted(Comparator.comparing(CategoryDto::getId))
+                .toArray(CategoryDto[]::new));
+    }
+
+    public static boolean supports(Sort sort) {
+        List<Sort.Order> sortOrders = sort.toList();
+        return sortOrders.isEmpty() || sortOrders.size() == 1
+                && List.of(ID, NAME).contains(sortOrders.get(0).getProperty());
+    }
+
+    public int size() {
+        return categories.length;
+    }
+
+    public Optional<CategoryDto> findById(Long id) {
+        int position = Arrays.binarySearch(ids, id);
+        return position >= 0 ? Optional.of(categories[position]) : Optional.empty();
+    }
+
+    public List<Long> findMissingIds(Collection<Long> categoryIds) {
+        return categoryIds.stream()
+                .filter(id -> id == null || Arrays.binarySearch(ids, id) < 0)
+                .toList();
+    }
+
+    public List<CategoryDto> findAll(Pageable pageable) {
+        Sort.Order order = pageable.getSort().stream().findFirst().orElse(Sort.Order.asc(ID));
+        int[] positions = NAME.equals(order.getProperty()) ? byName : byId;
+        int from = (int) Math.min(pageable.getOffset(), positions.length);
+        int to = Math.min(from + pageable.getPageSize(), positions.length);
+        List<CategoryDto> page = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            page.add(categories[positions[order.isAscending() ? i : positions.length - 1 - i]]);
+        }
+        return page;
+    }
+
+    public CategoryTable with(CategoryDto category) {
+        List<CategoryDto> updated = new ArrayList<>(categories.length + 1);
+        for (CategoryDto existing : categories) {
+            if (!existing.getId().equals(category.getId())) {
+                updated.add(existing);
+            }
+        }
+        updated.add(category);
+        return of(updated);
+    }
+
+    public CategoryTable without(Long id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position < 0) {
+            return this;
+        }
+        CategoryDto[] updated = new CategoryDto[categories.length - 1];
+        System.arraycopy(categories, 0, updated, 0, position);
+        System.arraycopy(categories, position + 1, updated, position,
+                categories.length - position - 1);
+        return new CategoryTable(updated);
+    }
+}
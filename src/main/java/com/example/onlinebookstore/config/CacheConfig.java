@@ -0,0 +1,40 @@
+package com.example.onlinebookstore.config;
+
+import com.example.onlinebookstore.cache.BoundedCache;
+import com.example.onlinebookstore.dto.book.BookDto;
+import com.example.onlinebookstore.model.User;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+    @Bean
+    public BoundedCache<String, User> userDetailsCache(
+            @Value("${security.user-cache.max-size}") int maxSize,
+            @Value("${security.user-cache.ttl}") long ttl) {
+        return new BoundedCache<>("userDetails", maxSize, ttl);
+    }
+
+    @Bean
+    public BoundedCache<String, Long> searchTotalsCache(
+            @Value("${search.totals.max-size}") int maxSize,
+            @Value("${search.totals.ttl}") long ttl) {
+        return new BoundedCache<>("searchTotals", maxSize, ttl);
+    }
+
+    @Bean
+    public BoundedCache<String, List<BookDto>> searchResultsCache(
+            @Value("${search.results.max-size}") int maxSize,
+            @Value("${search.results.ttl}") long ttl) {
+        return new BoundedCache<>("searchResults", maxSize, ttl);
+    }
+
+    @Bean
+    public BoundedCache<Long, BookDto> bookCache(
+            @Value("${catalog.book-cache.max-size}") int maxSize,
+            @Value("${catalog.book-cache.ttl}") long ttl) {
+        return new BoundedCache<>("books", maxSize, ttl, true);
+    }
+}
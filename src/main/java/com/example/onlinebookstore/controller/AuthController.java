@@ -1,17 +1,24 @@
 package com.example.onlinebookstore.controller;
 
+import com.example.onlinebookstore.dto.user.RefreshTokenRequestDto;
 import com.example.onlinebookstore.dto.user.UserLoginRequestDto;
 import com.example.onlinebookstore.dto.user.UserLoginResponseDto;
 import com.example.onlinebookstore.dto.user.UserRegistrationRequestDto;
 import com.example.onlinebookstore.dto.user.UserResponseDto;
 import com.example.onlinebookstore.exception.RegistrationException;
 import com.example.onlinebookstore.security.AuthenticationService;
+import com.example.onlinebookstore.security.JwtClaims;
 import com.example.onlinebookstore.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 @RequiredArgsConstructor
@@ -28,7 +35,24 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public UserLoginResponseDto login(@RequestBody @Valid UserLoginRequestDto requestDto) {
-        return authenticationService.authenticate(requestDto);
+    public UserLoginResponseDto login(@RequestBody @Valid UserLoginRequestDto requestDto,
+                                      HttpServletRequest request) {
+        return authenticationService.authenticate(requestDto, request.getRemoteAddr());
+    }
+
+    @PostMapping("/refresh")
+    public UserLoginResponseDto refresh(@RequestBody @Valid RefreshTokenRequestDto requestDto) {
+        return authenticationService.refresh(requestDto);
+    }
+
+    @PreAuthorize("isAuthenticated()")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @PostMapping("/logout")
+    public void logout(Authentication authentication,
+                       @RequestBody(required = false) @Valid RefreshTokenRequestDto requestDto) {
+        JwtClaims claims = authentication.getDetails() instanceof JwtClaims jwtClaims
+                ? jwtClaims
+                : null;
+        authenticationService.logout(claims, requestDto);
     }
 }
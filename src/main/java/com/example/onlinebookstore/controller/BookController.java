@@ -1,36 +1,79 @@
 package com.example.onlinebookstore.controller;
 
+import com.example.onlinebookstore.catalog.CatalogGeneration;
+import com.example.onlinebookstore.dto.book.BookBatchDto;
 import com.example.onlinebookstore.dto.book.BookDto;
+import com.example.onlinebookstore.dto.book.BookIdsRequestDto;
+import com.example.onlinebookstore.dto.book.BookImportResultDto;
+import com.example.onlinebookstore.dto.book.BookRepriceRequestDto;
+import com.example.onlinebookstore.dto.book.BookRepriceResultDto;
 import com.example.onlinebookstore.dto.book.BookSearchParameters;
+import com.example.onlinebookstore.dto.book.BookSearchResultDto;
+import com.example.onlinebookstore.dto.book.BookSuggestionDto;
 import com.example.onlinebookstore.dto.book.CreateBookRequestDto;
+import com.example.onlinebookstore.dto.book.PatchBookRequestDto;
+import com.example.onlinebookstore.lib.EntityTags;
+import com.example.onlinebookstore.repository.keyset.KeysetPage;
+import com.example.onlinebookstore.service.BookExportService;
+import com.example.onlinebookstore.service.BookImportService;
 import com.example.onlinebookstore.service.BookService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = "Book management", description = "Endpoints for managing books")
 @RestController
 @RequestMapping(value = "/books")
 @RequiredArgsConstructor
 public class BookController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final String EXACT_TOTALS = "exact";
+    private static final String CSV = "text/csv";
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String GZIP = "gzip";
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    private static final String BOOK_TAG = "book";
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final BookExportService bookExportService;
+    private final CatalogGeneration catalogGeneration;
 
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @ResponseStatus(HttpStatus.CREATED)
@@ -41,19 +84,108 @@ public class BookController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all books", description = "Get the catalogue of all books")
+    @Operation(summary = "Get all books", description = "Get the catalogue of all books, "
+            + "pass an empty cursor to page with the X-Next-Cursor header instead of offsets "
+            + "and totals=approximate|exact to get the X-Total-Count header, "
+            + "answers If-None-Match with 304 while the catalog is unchanged")
     @ApiResponse(responseCode = "200", description = "All books",
             content = {@Content(mediaType = "application/json")})
-    public List<BookDto> getAll(Pageable pageable) {
-        return bookService.findAll(pageable);
+    public List<BookDto> getAll(Pageable pageable,
+                                @RequestParam(required = false) String cursor,
+                                @RequestParam(required = false) String totals,
+                                WebRequest webRequest,
+                                HttpServletResponse response) {
+        if (webRequest.checkNotModified(catalogGeneration.etag())) {
+            return null;
+        }
+        if (totals != null) {
+            response.setHeader(TOTAL_COUNT_HEADER, String.valueOf(
+                    bookService.countAll(EXACT_TOTALS.equals(totals))));
+        }
+        if (cursor == null) {
+            return bookService.findAll(pageable);
+        }
+        KeysetPage<BookDto> page = bookService.findAllAfter(cursor, pageable);
+        if (page.nextCursor() != null) {
+            response.setHeader(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return page.content();
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping(value = "/import", consumes = CSV)
+    @Operation(summary = "Import books from CSV", description = "Stream a CSV with a "
+            + "title,author,isbn,price,description,coverImage,categoryIds header "
+            + "(category ids separated by ';') and upsert the books by isbn")
+    public BookImportResultDto importCsv(HttpServletRequest request) throws IOException {
+        return bookImportService.importCsv(getReader(request));
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping(value = "/import", consumes = NDJSON)
+    @Operation(summary = "Import books from NDJSON", description = "Stream one book "
+            + "request per line and upsert the books by isbn")
+    public BookImportResultDto importNdjson(HttpServletRequest request) throws IOException {
+        return bookImportService.importNdjson(getReader(request));
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("/reprice")
+    @Operation(summary = "Reprice books in bulk", description = "Add an amount or a percentage "
+            + "to the price of every book matching the category or search parameters "
+            + "in one update, prices below zero become zero")
+    public BookRepriceResultDto reprice(BookSearchParameters searchParameters,
+                                        @RequestBody @Valid BookRepriceRequestDto requestDto) {
+        return bookService.reprice(searchParameters, requestDto);
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/export")
+    @Operation(summary = "Export all books as NDJSON", description = "Stream every book "
+            + "with its category ids, one JSON object per line, gzipped when the client "
+            + "accepts gzip, pass format=csv to get CSV instead")
+    public ResponseEntity<StreamingResponseBody> exportNdjson(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+            String acceptEncoding) {
+        return export(NDJSON, "books.ndjson", acceptEncoding, bookExportService::exportNdjson);
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping(value = "/export", params = "format=csv")
+    @Operation(summary = "Export all books as CSV", description = "Stream every book "
+            + "with its category ids in the import CSV format, gzipped when the client "
+            + "accepts gzip")
+    public ResponseEntity<StreamingResponseBody> exportCsv(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+            String acceptEncoding) {
+        return export(CSV, "books.csv", acceptEncoding, bookExportService::exportCsv);
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get books by ids", description = "Get several books with their "
+            + "categories at once, in the requested order, together with the ids not found")
+    public BookBatchDto getAllByIds(@RequestParam List<Long> ids) {
+        return bookService.findAllByIds(ids);
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Get books by ids",
+            description = "Get several books by a list of ids too long for a query string")
+    public BookBatchDto getAllByIds(@RequestBody @Valid BookIdsRequestDto requestDto) {
+        return bookService.findAllByIds(requestDto.ids());
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get a book by id", description = "Get a book by id")
+    @Operation(summary = "Get a book by id", description = "Get a book by id, "
+            + "answers If-None-Match with 304 while the book version is unchanged")
     @ApiResponse(responseCode = "200", description = "Book by id",
             content = {@Content(mediaType = "application/json")})
-    public BookDto getBookById(@PathVariable Long id) {
-        return bookService.findById(id);
+    public BookDto getBookById(@PathVariable Long id, WebRequest webRequest) {
+        BookDto book = bookService.findById(id);
+        if (webRequest.checkNotModified(EntityTags.of(BOOK_TAG, id, book.getVersion()))) {
+            return null;
+        }
+        return book;
     }
 
     @PreAuthorize("hasRole('ROLE_ADMIN')")
@@ -67,19 +199,106 @@ public class BookController {
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @PutMapping("/{id}")
     @Operation(summary = "Update a book by id",
-            description = "Update a book by id with given parameters")
+            description = "Update a book by id with given parameters, pass the book ETag "
+                    + "in If-Match to get 409 if the book was changed in the meantime")
     @ApiResponse(responseCode = "200", description = "Updated",
             content = {@Content(mediaType = "application/json")})
     public BookDto updateById(@PathVariable Long id,
-                              @RequestBody @Valid CreateBookRequestDto bookDto) {
-        return bookService.update(id, bookDto);
+                              @RequestBody @Valid CreateBookRequestDto bookDto,
+                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                              String ifMatch,
+                              HttpServletResponse response) {
+        BookDto book = bookService.update(id, bookDto,
+                EntityTags.versionOf(ifMatch, BOOK_TAG, id));
+        response.setHeader(HttpHeaders.ETAG,
+                EntityTags.of(BOOK_TAG, book.getId(), book.getVersion()));
+        return book;
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PatchMapping("/{id}")
+    @Operation(summary = "Partially update a book by id",
+            description = "Change only the given fields of a book, categoryIds replaces "
+                    + "the book categories when present, pass the book ETag in If-Match "
+                    + "to get 409 if the book was changed in the meantime")
+    @ApiResponse(responseCode = "200", description = "Updated",
+            content = {@Content(mediaType = "application/json")})
+    public BookDto patchById(@PathVariable Long id,
+                             @RequestBody @Valid PatchBookRequestDto bookDto,
+                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                             String ifMatch,
+                             HttpServletResponse response) {
+        BookDto book = bookService.patch(id, bookDto,
+                EntityTags.versionOf(ifMatch, BOOK_TAG, id));
+        response.setHeader(HttpHeaders.ETAG,
+                EntityTags.of(BOOK_TAG, book.getId(), book.getVersion()));
+        return book;
     }
 
     @GetMapping("/search")
     @Operation(summary = "Search a book by parameters",
             description = "Search a book by author or title")
     public List<BookDto> searchBooks(BookSearchParameters searchParameters,
-                                     Pageable pageable) {
+                                     Pageable pageable,
+                                     @RequestParam(required = false) String totals,
+                                     HttpServletResponse response) {
+        if (totals != null) {
+            response.setHeader(TOTAL_COUNT_HEADER, String.valueOf(bookService.countSearch(
+                    searchParameters, EXACT_TOTALS.equals(totals))));
+        }
         return bookService.search(searchParameters, pageable);
     }
+
+    @GetMapping(value = "/search", params = "facets=true")
+    @Operation(summary = "Search a book by parameters with facets",
+            description = "Search a book by parameters and get the category, author "
+                    + "and price band counts of all matching books")
+    public BookSearchResultDto searchBooksWithFacets(BookSearchParameters searchParameters,
+                                                     Pageable pageable,
+                                                     @RequestParam(required = false)
+                                                     String totals,
+                                                     HttpServletResponse response) {
+        return new BookSearchResultDto(
+                searchBooks(searchParameters, pageable, totals, response),
+                bookService.facets(searchParameters));
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest titles and authors",
+            description = "Get the best selling title and author completions for a prefix")
+    public List<BookSuggestionDto> suggest(@RequestParam String prefix,
+                                           @RequestParam(defaultValue = "10") int limit) {
+        return bookService.suggest(prefix, limit);
+    }
+
+    private Reader getReader(HttpServletRequest request) throws IOException {
+        Charset charset = request.getCharacterEncoding() == null
+                ? StandardCharsets.UTF_8
+                : Charset.forName(request.getCharacterEncoding());
+        return new BufferedReader(new InputStreamReader(request.getInputStream(), charset));
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(String contentType, String fileName,
+                                                         String acceptEncoding,
+                                                         StreamingResponseBody body) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains(GZIP);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.parseMediaType(contentType),
+                        StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(fileName)
+                        .build()
+                        .toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!gzip) {
+            return response.body(body);
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, GZIP)
+                .body(outputStream -> {
+                    try (OutputStream gzipStream =
+                                 new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE)) {
+                        body.writeTo(gzipStream);
+                    }
+                });
+    }
 }
@@ -1,43 +1,62 @@
 package com.example.onlinebookstore.controller;
 
+import com.example.onlinebookstore.catalog.CatalogGeneration;
 import com.example.onlinebookstore.dto.book.BookDtoWithoutCategoryIds;
 import com.example.onlinebookstore.dto.category.CategoryDto;
 import com.example.onlinebookstore.dto.category.CreateCategoryRequestDto;
+import com.example.onlinebookstore.dto.category.PatchCategoryRequestDto;
+import com.example.onlinebookstore.lib.EntityTags;
+import com.example.onlinebookstore.repository.keyset.KeysetPage;
 import com.example.onlinebookstore.service.BookService;
 import com.example.onlinebookstore.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @Tag(name = "Category management", description = "Endpoints for managing categories")
 @RestController
 @RequestMapping(value = "/categories")
 @RequiredArgsConstructor
 public class CategoryController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final String EXACT_TOTALS = "exact";
+    private static final String CATEGORY_TAG = "category";
     private final CategoryService categoryService;
     private final BookService bookService;
+    private final CatalogGeneration catalogGeneration;
 
     @GetMapping
-    @Operation(summary = "Get all categories", description = "Get a list of all categories")
+    @Operation(summary = "Get all categories", description = "Get a list of all categories, "
+            + "answers If-None-Match with 304 while the catalog is unchanged")
     @ApiResponse(responseCode = "200", description = "All categories",
             content = {@Content(mediaType = "application/json")})
-    public List<CategoryDto> getAll(Pageable pageable) {
+    public List<CategoryDto> getAll(Pageable pageable, WebRequest webRequest) {
+        if (webRequest.checkNotModified(catalogGeneration.etag())) {
+            return null;
+        }
         return categoryService.findAll(pageable);
     }
 
@@ -45,9 +64,29 @@ public class CategoryController {
     @Operation(summary = "Get books by category", description = "Books by category")
     @ApiResponse(responseCode = "200", description = "Books by category",
             content = {@Content(mediaType = "application/json")})
-    public List<BookDtoWithoutCategoryIds> getBookByCategory(Pageable pageable,
-                                                             @PathVariable Long id) {
-        return bookService.findAllByCategoriesId(id, pageable);
+    public List<BookDtoWithoutCategoryIds> getBookByCategory(
+            Pageable pageable,
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String totals,
+            WebRequest webRequest,
+            HttpServletResponse response) {
+        if (webRequest.checkNotModified(catalogGeneration.etag())) {
+            return null;
+        }
+        if (totals != null) {
+            response.setHeader(TOTAL_COUNT_HEADER, String.valueOf(
+                    bookService.countByCategoriesId(id, EXACT_TOTALS.equals(totals))));
+        }
+        if (cursor == null) {
+            return bookService.findAllByCategoriesId(id, pageable);
+        }
+        KeysetPage<BookDtoWithoutCategoryIds> page =
+                bookService.findAllByCategoriesIdAfter(id, cursor, pageable);
+        if (page.nextCursor() != null) {
+            response.setHeader(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return page.content();
     }
 
     @PreAuthorize("hasRole('ROLE_ADMIN')")
@@ -62,18 +101,48 @@ public class CategoryController {
     @Operation(summary = "Get a category by id", description = "Category by id")
     @ApiResponse(responseCode = "200", description = "Category by id",
             content = {@Content(mediaType = "application/json")})
-    public CategoryDto getCategoryById(@PathVariable Long id) {
-        return categoryService.getById(id);
+    public CategoryDto getCategoryById(@PathVariable Long id, WebRequest webRequest) {
+        CategoryDto category = categoryService.getById(id);
+        if (webRequest.checkNotModified(
+                EntityTags.of(CATEGORY_TAG, id, category.getVersion()))) {
+            return null;
+        }
+        return category;
     }
 
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @PutMapping("/{id}")
-    @Operation(summary = "Update a category by id", description = "Update a category by id")
+    @Operation(summary = "Update a category by id", description = "Update a category by id, "
+            + "pass the category ETag in If-Match to get 409 if it was changed in the meantime")
     @ApiResponse(responseCode = "200", description = "Update a category",
             content = {@Content(mediaType = "application/json")})
     public CategoryDto updateCategory(@PathVariable Long id,
-            @RequestBody @Valid CreateCategoryRequestDto categoryRequestDto) {
-        return categoryService.update(id, categoryRequestDto);
+            @RequestBody @Valid CreateCategoryRequestDto categoryRequestDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            HttpServletResponse response) {
+        CategoryDto category = categoryService.update(id, categoryRequestDto,
+                EntityTags.versionOf(ifMatch, CATEGORY_TAG, id));
+        response.setHeader(HttpHeaders.ETAG,
+                EntityTags.of(CATEGORY_TAG, category.getId(), category.getVersion()));
+        return category;
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PatchMapping("/{id}")
+    @Operation(summary = "Partially update a category by id", description = "Change only "
+            + "the given fields of a category, pass the category ETag in If-Match "
+            + "to get 409 if it was changed in the meantime")
+    @ApiResponse(responseCode = "200", description = "Update a category",
+            content = {@Content(mediaType = "application/json")})
+    public CategoryDto patchCategory(@PathVariable Long id,
+            @RequestBody @Valid PatchCategoryRequestDto categoryRequestDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            HttpServletResponse response) {
+        CategoryDto category = categoryService.patch(id, categoryRequestDto,
+                EntityTags.versionOf(ifMatch, CATEGORY_TAG, id));
+        response.setHeader(HttpHeaders.ETAG,
+                EntityTags.of(CATEGORY_TAG, category.getId(), category.getVersion()));
+        return category;
     }
 
     @PreAuthorize("hasRole('ROLE_ADMIN')")
@@ -4,12 +4,14 @@ import com.example.onlinebookstore.dto.order.CreateOrderRequestDto;
 import com.example.onlinebookstore.dto.order.OrderDto;
 import com.example.onlinebookstore.dto.order.UpdateOrderRequestDto;
 import com.example.onlinebookstore.dto.orderitem.OrderItemDto;
-import com.example.onlinebookstore.model.User;
+import com.example.onlinebookstore.repository.keyset.KeysetPage;
+import com.example.onlinebookstore.security.UserPrincipal;
 import com.example.onlinebookstore.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
@@ -22,6 +24,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -30,6 +33,7 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/orders")
 @RequiredArgsConstructor
 public class OrderController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     private final OrderService orderService;
 
     @PostMapping
@@ -38,8 +42,8 @@ public class OrderController {
     @ResponseStatus(HttpStatus.CREATED)
     public OrderDto createOrder(Authentication authentication,
                                 @RequestBody CreateOrderRequestDto requestDto) {
-        User user = (User) authentication.getPrincipal();
-        return orderService.createOrder(user, requestDto);
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
+        return orderService.createOrder(user.getId(), requestDto);
     }
 
     @GetMapping
@@ -47,9 +51,18 @@ public class OrderController {
             description = "Get all info about the orders")
     @ApiResponse(responseCode = "200", description = "Order information",
             content = {@Content(mediaType = "application/json")})
-    public List<OrderDto> getAll(Authentication authentication, Pageable pageable) {
-        User user = (User) authentication.getPrincipal();
-        return orderService.getAll(user.getId(), pageable);
+    public List<OrderDto> getAll(Authentication authentication, Pageable pageable,
+                                 @RequestParam(required = false) String cursor,
+                                 HttpServletResponse response) {
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
+        if (cursor == null) {
+            return orderService.getAll(user.getId(), pageable);
+        }
+        KeysetPage<OrderDto> page = orderService.getAllAfter(user.getId(), cursor, pageable);
+        if (page.nextCursor() != null) {
+            response.setHeader(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return page.content();
     }
 
     @PutMapping("/{id}")
@@ -71,7 +84,7 @@ public class OrderController {
     public List<OrderItemDto> getAllItemsById(Authentication authentication,
                                               @PathVariable Long id,
                                               Pageable pageable) {
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         return orderService.getAllItemsById(id, user.getId());
     }
 
@@ -83,7 +96,7 @@ public class OrderController {
     public OrderItemDto getItemById(Authentication authentication,
                                     @PathVariable Long orderId,
                                     @PathVariable Long id) {
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         return orderService.getByIdAndUserIdAndOrderId(id, orderId, user.getId());
     }
 }
@@ -3,7 +3,7 @@ package com.example.onlinebookstore.controller;
 import com.example.onlinebookstore.dto.cartitem.CreateCartItemRequestDto;
 import com.example.onlinebookstore.dto.cartitem.UpdateCartItemRequestDto;
 import com.example.onlinebookstore.dto.shoppingcart.ShoppingCartDto;
-import com.example.onlinebookstore.model.User;
+import com.example.onlinebookstore.security.UserPrincipal;
 import com.example.onlinebookstore.service.ShoppingCartService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -35,7 +35,7 @@ public class ShoppingCartController {
     @ApiResponse(responseCode = "200", description = "Cart information",
             content = {@Content(mediaType = "application/json")})
     public ShoppingCartDto getById(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         return shoppingCartService.getById(user.getId());
     }
 
@@ -45,7 +45,7 @@ public class ShoppingCartController {
 
     public ShoppingCartDto addCartItem(Authentication authentication,
                                 @RequestBody @Valid CreateCartItemRequestDto requestDto) {
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         return shoppingCartService.addCartItem(user.getId(), requestDto);
     }
 
@@ -57,7 +57,7 @@ public class ShoppingCartController {
     public ShoppingCartDto updateCartItem(Authentication authentication,
                                           @PathVariable Long id,
                                           @RequestBody @Valid UpdateCartItemRequestDto requestDto) {
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         return shoppingCartService.updateById(user.getId(), id, requestDto);
     }
 
@@ -67,7 +67,7 @@ public class ShoppingCartController {
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public ShoppingCartDto deleteCartItem(Authentication authentication,
                                           @PathVariable Long id) {
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         return shoppingCartService.deleteById(user.getId(), id);
     }
 }
@@ -0,0 +1,25 @@
+package com.example.onlinebookstore.controller;
+
+import com.example.onlinebookstore.security.AuthenticationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/users")
+public class UserController {
+    private final AuthenticationService authenticationService;
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @PostMapping("/{id}/revoke-tokens")
+    public void revokeTokens(@PathVariable Long id) {
+        authenticationService.revokeAll(id);
+    }
+}
@@ -16,4 +16,5 @@ public class BookDto {
     private String description;
     private String coverImage;
     private Set<Long> categoryIds;
+    private Long version;
 }
@@ -0,0 +1,9 @@
+package com.example.onlinebookstore.dto.book;
+
+import java.util.List;
+
+public record BookFacetsDto(
+        List<FacetCountDto> categories,
+        List<FacetCountDto> authors,
+        List<FacetCountDto> prices) {
+}
@@ -0,0 +1,11 @@
+package com.example.onlinebookstore.dto.book;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+public record BookIdsRequestDto(
+        @NotEmpty
+        List<@NotNull Long> ids
+) {
+}
@@ -0,0 +1,11 @@
+package com.example.onlinebookstore.dto.book;
+
+import java.util.List;
+
+public record BookImportResultDto(
+        long processed,
+        long inserted,
+        long updated,
+        long failed,
+        List<BookImportErrorDto> errors) {
+}
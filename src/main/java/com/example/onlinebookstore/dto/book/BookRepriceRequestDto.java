@@ -0,0 +1,16 @@
+package com.example.onlinebookstore.dto.book;
+
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+
+public record BookRepriceRequestDto(
+        @NotNull
+        Adjustment adjustment,
+        @NotNull
+        BigDecimal value
+) {
+    public enum Adjustment {
+        AMOUNT,
+        PERCENT
+    }
+}
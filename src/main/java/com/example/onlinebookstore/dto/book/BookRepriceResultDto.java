@@ -0,0 +1,4 @@
+package com.example.onlinebookstore.dto.book;
+
+public record BookRepriceResultDto(int updated) {
+}
@@ -1,4 +1,68 @@
 package com.example.onlinebookstore.dto.book;
 
-public record BookSearchParameters(String[] titles, String[] authors) {
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public record BookSearchParameters(
+        String[] titles,
+        String[] authors,
+        String q,
+        String[] fuzzy,
+        Long[] category,
+        String categoryMatch,
+        BigDecimal priceMin,
+        BigDecimal priceMax) {
+    private static final String MATCH_ALL = "all";
+    private static final String MATCH_ANY = "any";
+
+    public boolean hasTextFilter() {
+        return titles != null && titles.length > 0
+                || authors != null && authors.length > 0
+                || fuzzy != null && fuzzy.length > 0;
+    }
+
+    public boolean hasCategoryOrPriceFilter() {
+        return category != null && category.length > 0 || priceMin != null || priceMax != null;
+    }
+
+    public List<Long> categoryIds() {
+        return category == null ? List.of() : Arrays.asList(category);
+    }
+
+    public boolean matchAllCategories() {
+        return MATCH_ALL.equalsIgnoreCase(categoryMatch);
+    }
+
+    public String toCacheKey() {
+        return String.join("|",
+                canonical(titles, true),
+                canonical(authors, true),
+                q == null ? "" : escape(q),
+                canonical(fuzzy, false),
+                canonical(category, true),
+                category == null || category.length == 0
+                        ? ""
+                        : matchAllCategories() ? MATCH_ALL : MATCH_ANY,
+                priceMin == null ? "" : priceMin.stripTrailingZeros().toPlainString(),
+                priceMax == null ? "" : priceMax.stripTrailingZeros().toPlainString());
+    }
+
+    private static String canonical(Object[] values, boolean unordered) {
+        if (values == null) {
+            return "[]";
+        }
+        Stream<String> strings = Arrays.stream(values).map(String::valueOf);
+        if (unordered) {
+            strings = strings.distinct().sorted();
+        }
+        return strings.map(BookSearchParameters::escape)
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private static String escape(String value) {
+        return value.length() + ":" + value;
+    }
 }
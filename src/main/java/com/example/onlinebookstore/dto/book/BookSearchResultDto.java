@@ -0,0 +1,6 @@
+package com.example.onlinebookstore.dto.book;
+
+import java.util.List;
+
+public record BookSearchResultDto(List<BookDto> books, BookFacetsDto facets) {
+}
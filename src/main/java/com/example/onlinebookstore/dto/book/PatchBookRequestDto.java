@@ -0,0 +1,30 @@
+package com.example.onlinebookstore.dto.book;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import java.math.BigDecimal;
+import java.util.Set;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class PatchBookRequestDto {
+    private static final String NOT_BLANK = "(?s).*\\S.*";
+    private static final String NOT_BLANK_MESSAGE = "must not be blank";
+
+    @Pattern(regexp = NOT_BLANK, message = NOT_BLANK_MESSAGE)
+    private String title;
+
+    @Pattern(regexp = NOT_BLANK, message = NOT_BLANK_MESSAGE)
+    private String author;
+
+    @Pattern(regexp = NOT_BLANK, message = NOT_BLANK_MESSAGE)
+    private String isbn;
+
+    @Min(0)
+    private BigDecimal price;
+    private String description;
+    private String coverImage;
+    private Set<Long> categoryIds;
+}
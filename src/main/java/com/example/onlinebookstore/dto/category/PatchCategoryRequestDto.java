@@ -0,0 +1,13 @@
+package com.example.onlinebookstore.dto.category;
+
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class PatchCategoryRequestDto {
+    @Pattern(regexp = "(?s).*\\S.*", message = "must not be blank")
+    private String name;
+    private String description;
+}
@@ -0,0 +1,9 @@
+package com.example.onlinebookstore.dto.user;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequestDto(
+        @NotBlank
+        String refreshToken
+) {
+}
@@ -0,0 +1,7 @@
+package com.example.onlinebookstore.exception;
+
+public class BatchSizeExceededException extends RuntimeException {
+    public BatchSizeExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.onlinebookstore.exception;
+
+public class BookRepriceException extends RuntimeException {
+    public BookRepriceException(String message) {
+        super(message);
+    }
+}
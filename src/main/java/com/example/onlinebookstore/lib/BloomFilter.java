@@ -0,0 +1,54 @@
+package com.example.onlinebookstore.lib;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class BloomFilter {
+    private static final double LN2 = Math.log(2);
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int insertions = Math.max(expectedInsertions, 1);
+        long bitsNeeded = (long) Math.ceil(
+                -insertions * Math.log(falsePositiveRate) / (LN2 * LN2));
+        int words = (int) Math.max(1, (bitsNeeded + Long.SIZE - 1) / Long.SIZE);
+        bits = new AtomicLongArray(words);
+        bitCount = (long) words * Long.SIZE;
+        hashCount = Math.max(1, (int) Math.round((double) bitCount / insertions * LN2));
+    }
+
+    public void put(long hash) {
+        int low = (int) hash;
+        int high = (int) (hash >>> Integer.SIZE);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = index(low, high, i);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    public boolean mightContain(long hash) {
+        int low = (int) hash;
+        int high = (int) (hash >>> Integer.SIZE);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = index(low, high, i);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long index(int low, int high, int i) {
+        int combined = low + i * high;
+        if (combined < 0) {
+            combined = ~combined;
+        }
+        return combined % bitCount;
+    }
+}
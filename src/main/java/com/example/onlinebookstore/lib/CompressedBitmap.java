@@ -0,0 +1,285 @@
+package com.example.onlinebookstore.lib;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+public class CompressedBitmap {
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int WORDS = 1 << 10;
+    private static final int LOW_MASK = 0xFFFF;
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int size;
+
+    public static CompressedBitmap of(int... values) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    public void add(int value) {
+        char key = (char) (value >>> 16);
+        int index = indexOf(key);
+        if (index < 0) {
+            index = -index - 1;
+            insert(index, key, new Container());
+        }
+        containers[index].add((char) (value & LOW_MASK));
+    }
+
+    public void remove(int value) {
+        int index = indexOf((char) (value >>> 16));
+        if (index < 0) {
+            return;
+        }
+        Container container = containers[index];
+        container.remove((char) (value & LOW_MASK));
+        if (container.cardinality == 0) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+            containers[--size] = null;
+        }
+    }
+
+    public boolean contains(int value) {
+        int index = indexOf((char) (value >>> 16));
+        return index >= 0 && containers[index].contains((char) (value & LOW_MASK));
+    }
+
+    public int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality;
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public CompressedBitmap and(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+        int left = 0;
+        int right = 0;
+        while (left < size && right < other.size) {
+            if (keys[left] < other.keys[right]) {
+                left++;
+            } else if (keys[left] > other.keys[right]) {
+                right++;
+            } else {
+                Container container = containers[left++].and(other.containers[right++]);
+                if (container.cardinality > 0) {
+                    result.insert(result.size, keys[left - 1], container);
+                }
+            }
+        }
+        return result;
+    }
+
+    public CompressedBitmap or(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+        int left = 0;
+        int right = 0;
+        while (left < size || right < other.size) {
+            if (right == other.size || left < size && keys[left] < other.keys[right]) {
+                result.insert(result.size, keys[left], containers[left++].copy());
+            } else if (left == size || keys[left] > other.keys[right]) {
+                result.insert(result.size, other.keys[right], other.containers[right++].copy());
+            } else {
+                result.insert(result.size, keys[left],
+                        containers[left++].or(other.containers[right++]));
+            }
+        }
+        return result;
+    }
+
+    public void forEach(IntConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, consumer);
+        }
+    }
+
+    public int[] toArray() {
+        int[] values = new int[cardinality()];
+        int[] position = new int[1];
+        forEach(value -> values[position[0]++] = value);
+        return values;
+    }
+
+    private int indexOf(char key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insert(int index, char key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private static final class Container {
+        private char[] values = new char[4];
+        private long[] words;
+        private int cardinality;
+
+        private void add(char value) {
+            if (words != null) {
+                long mask = 1L << value;
+                if ((words[value >>> 6] & mask) == 0) {
+                    words[value >>> 6] |= mask;
+                    cardinality++;
+                }
+                return;
+            }
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values,
+                        Math.max(4, Math.min(cardinality * 2, ARRAY_LIMIT + 1)));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = value;
+            if (++cardinality > ARRAY_LIMIT) {
+                toWords();
+            }
+        }
+
+        private void remove(char value) {
+            if (words != null) {
+                long mask = 1L << value;
+                if ((words[value >>> 6] & mask) != 0) {
+                    words[value >>> 6] &= ~mask;
+                    if (--cardinality <= ARRAY_LIMIT) {
+                        toValues();
+                    }
+                }
+                return;
+            }
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+                cardinality--;
+            }
+        }
+
+        private boolean contains(char value) {
+            return words != null
+                    ? (words[value >>> 6] & (1L << value)) != 0
+                    : Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        private Container and(Container other) {
+            Container result = new Container();
+            if (words != null && other.words != null) {
+                result.values = null;
+                result.words = new long[WORDS];
+                for (int i = 0; i < WORDS; i++) {
+                    result.words[i] = words[i] & other.words[i];
+                    result.cardinality += Long.bitCount(result.words[i]);
+                }
+                if (result.cardinality <= ARRAY_LIMIT) {
+                    result.toValues();
+                }
+                return result;
+            }
+            if (words != null) {
+                return other.and(this);
+            }
+            result.values = new char[cardinality];
+            if (other.words != null) {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        result.values[result.cardinality++] = values[i];
+                    }
+                }
+                return result;
+            }
+            int left = 0;
+            int right = 0;
+            while (left < cardinality && right < other.cardinality) {
+                if (values[left] < other.values[right]) {
+                    left++;
+                } else if (values[left] > other.values[right]) {
+                    right++;
+                } else {
+                    result.values[result.cardinality++] = values[left++];
+                    right++;
+                }
+            }
+            return result;
+        }
+
+        private Container or(Container other) {
+            if (words == null && other.words != null) {
+                return other.or(this);
+            }
+            Container result = copy();
+            if (result.words != null && other.words != null) {
+                result.cardinality = 0;
+                for (int i = 0; i < WORDS; i++) {
+                    result.words[i] |= other.words[i];
+                    result.cardinality += Long.bitCount(result.words[i]);
+                }
+                return result;
+            }
+            other.forEach(0, value -> result.add((char) value));
+            return result;
+        }
+
+        private Container copy() {
+            Container copy = new Container();
+            copy.values = values == null ? null : Arrays.copyOf(values, values.length);
+            copy.words = words == null ? null : Arrays.copyOf(words, WORDS);
+            copy.cardinality = cardinality;
+            return copy;
+        }
+
+        private void forEach(int high, IntConsumer consumer) {
+            if (words == null) {
+                for (int i = 0; i < cardinality; i++) {
+                    consumer.accept(high | values[i]);
+                }
+                return;
+            }
+            for (int i = 0; i < WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    consumer.accept(high | ((i << 6) + Long.numberOfTrailingZeros(word)));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        private void toWords() {
+            words = new long[WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            values = null;
+        }
+
+        private void toValues() {
+            values = new char[cardinality];
+            int index = 0;
+            for (int i = 0; i < WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    values[index++] = (char) ((i << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            words = null;
+        }
+    }
+}
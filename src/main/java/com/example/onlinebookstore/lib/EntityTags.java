@@ -0,0 +1,31 @@
+package com.example.onlinebookstore.lib;
+
+public final class EntityTags {
+    private static final String ANY = "*";
+    private static final String QUOTE = "\"";
+    private static final long UNKNOWN_VERSION = -1L;
+
+    private EntityTags() {
+    }
+
+    public static String of(String type, Long id, Long version) {
+        return QUOTE + type + "-" + id + "-" + version + QUOTE;
+    }
+
+    public static Long versionOf(String ifMatch, String type, Long id) {
+        if (ifMatch == null || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        String prefix = QUOTE + type + "-" + id + "-";
+        if (!etag.startsWith(prefix) || !etag.endsWith(QUOTE)
+                || etag.length() <= prefix.length() + 1) {
+            return UNKNOWN_VERSION;
+        }
+        try {
+            return Long.valueOf(etag.substring(prefix.length(), etag.length() - 1));
+        } catch (NumberFormatException e) {
+            return UNKNOWN_VERSION;
+        }
+    }
+}
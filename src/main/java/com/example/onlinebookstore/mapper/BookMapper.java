@@ -4,14 +4,17 @@ import com.example.onlinebookstore.config.MapperConfig;
 import com.example.onlinebookstore.dto.book.BookDto;
 import com.example.onlinebookstore.dto.book.BookDtoWithoutCategoryIds;
 import com.example.onlinebookstore.dto.book.CreateBookRequestDto;
+import com.example.onlinebookstore.dto.book.PatchBookRequestDto;
 import com.example.onlinebookstore.model.Book;
 import com.example.onlinebookstore.model.Category;
 import java.util.stream.Collectors;
 import org.mapstruct.AfterMapping;
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.Named;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 
 @Mapper(config = MapperConfig.class)
 @Named("BookMapper")
@@ -22,10 +25,20 @@ public interface BookMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "deleted", ignore = true)
     @Mapping(target = "categories", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Book toModel(CreateBookRequestDto bookRequestDto);
 
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "categories", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void updateModel(PatchBookRequestDto requestDto, @MappingTarget Book book);
+
     BookDtoWithoutCategoryIds toDtoWithoutCategories(Book book);
 
+    BookDtoWithoutCategoryIds toDtoWithoutCategories(BookDto bookDto);
+
     @AfterMapping
     default void setCategoriesIds(@MappingTarget BookDto bookDto, Book book) {
         bookDto.setCategoryIds(book
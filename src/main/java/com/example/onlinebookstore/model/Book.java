@@ -9,6 +9,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
 import java.util.HashSet;
@@ -20,7 +21,7 @@ import org.hibernate.annotations.Where;
 
 @Entity
 @Data
-@SQLDelete(sql = "UPDATE books SET is_deleted = true WHERE id=?")
+@SQLDelete(sql = "UPDATE books SET is_deleted = true WHERE id=? AND version=?")
 @Where(clause = "is_deleted=false")
 @Table(name = "books")
 @Accessors(chain = true)
@@ -47,6 +48,11 @@ public class Book {
     @Column(nullable = false)
     private boolean isDeleted = false;
 
+    // Primitive so an id-only reference such as CartItemMapper's new Book() is
+    // judged by its id instead of being taken as transient for a null version.
+    @Version
+    private long version;
+
     @JoinTable(name = "books_categories",
             joinColumns = @JoinColumn(name = "book_id"),
             inverseJoinColumns = @JoinColumn(name = "category_id"))
@@ -6,6 +6,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.Accessors;
@@ -14,7 +15,7 @@ import org.hibernate.annotations.Where;
 
 @Data
 @Entity
-@SQLDelete(sql = "UPDATE categories SET is_deleted = true WHERE id=?")
+@SQLDelete(sql = "UPDATE categories SET is_deleted = true WHERE id=? AND version=?")
 @Where(clause = "is_deleted=false")
 @Table(name = "categories")
 @NoArgsConstructor
@@ -32,6 +33,11 @@ public class Category {
     @Column(nullable = false)
     private boolean isDeleted = false;
 
+    // Primitive so an id-only reference such as new Category(id) is judged by its id
+    // instead of being taken as transient for a null version.
+    @Version
+    private long version;
+
     public Category(Long id) {
         this.id = id;
     }
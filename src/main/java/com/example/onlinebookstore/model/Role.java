@@ -1,7 +1,9 @@
 package com.example.onlinebookstore.model;
 
+import com.example.onlinebookstore.security.UserDetailsCacheListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
@@ -16,6 +18,7 @@ import org.hibernate.annotations.Where;
 @Data
 @Entity
 @Table(name = "roles")
+@EntityListeners(UserDetailsCacheListener.class)
 @SQLDelete(sql = "UPDATE roles SET is_deleted = true WHERE id=?")
 @Where(clause = "is_deleted=false")
 public class Role {
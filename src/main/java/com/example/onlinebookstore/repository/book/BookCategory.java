@@ -0,0 +1,7 @@
+package com.example.onlinebookstore.repository.book;
+
+public interface BookCategory {
+    Long getBookId();
+
+    Long getCategoryId();
+}
@@ -1,26 +1,61 @@
 package com.example.onlinebookstore.repository.book;
 
 import com.example.onlinebookstore.model.Book;
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
-
-    @EntityGraph(attributePaths = "categories")
-    List<Book> findAllByCategoriesId(Long categoryId, Pageable pageable);
-
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book>,
+        BookRepositoryCustom {
     @EntityGraph(attributePaths = "categories")
     Optional<Book> findById(Long id);
 
     @EntityGraph(attributePaths = "categories")
-    Page<Book> findAll(Specification<Book> specification, Pageable pageable);
+    List<Book> findAll(Specification<Book> specification);
 
     @EntityGraph(attributePaths = "categories")
     List<Book> findAll();
+
+    @EntityGraph(attributePaths = "categories")
+    List<Book> findAllByIdIn(Collection<Long> ids);
+
+    @Query("SELECT b.id FROM Book b WHERE b.id > :id ORDER BY b.id")
+    List<Long> findIdsGreaterThan(Long id, Pageable pageable);
+
+    @Query("SELECT DISTINCT b.id FROM Book b JOIN b.categories c "
+            + "WHERE c.id IN :categoryIds AND b.id > :id ORDER BY b.id")
+    List<Long> findIdsInCategoriesGreaterThan(Collection<Long> categoryIds, Long id,
+                                              Pageable pageable);
+
+    long countByCategoriesId(Long categoryId);
+
+    @Query("SELECT b.id FROM Book b JOIN b.categories c WHERE c.id = :categoryId")
+    List<Long> findAllIdsByCategoryId(Long categoryId);
+
+    @Query("SELECT b.id AS bookId, c.id AS categoryId FROM Book b LEFT JOIN b.categories c")
+    List<BookCategory> findAllBookCategories();
+
+    @Query("SELECT b.version FROM Book b WHERE b.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Book b SET b.version = b.version + 1 WHERE b.id IN :ids")
+    int incrementVersions(Collection<Long> ids);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Book b SET b.price = CASE WHEN b.price * :factor + :amount >= 0 "
+            + "THEN ROUND(b.price * :factor + :amount, 2) ELSE 0 END, "
+            + "b.version = b.version + 1 WHERE b.id IN :ids")
+    int updatePrices(Collection<Long> ids, BigDecimal factor, BigDecimal amount);
 }
@@ -0,0 +1,38 @@
+package com.example.onlinebookstore.repository.book;
+
+import com.example.onlinebookstore.dto.book.BookDto;
+import com.example.onlinebookstore.dto.book.BookDtoWithoutCategoryIds;
+import com.example.onlinebookstore.dto.book.BookSearchParameters;
+import com.example.onlinebookstore.model.Book;
+import com.example.onlinebookstore.repository.keyset.KeysetCursor;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface BookRepositoryCustom {
+    Page<Book> findAll(Specification<Book> specification, Pageable pageable);
+
+    Slice<Book> findSlice(Specification<Book> specification, Pageable pageable);
+
+    Slice<BookDto> findDtoSlice(Pageable pageable);
+
+    List<BookDtoWithoutCategoryIds> findAllByCategoriesId(Long categoryId, Pageable pageable);
+
+    List<Long> findIds(Specification<Book> specification, int limit);
+
+    List<BookDto> findDtosAfter(KeysetCursor cursor, int limit);
+
+    List<BookDtoWithoutCategoryIds> findAllByCategoriesIdAfter(Long categoryId,
+                                                               KeysetCursor cursor, int limit);
+
+    int upsertAllByIsbn(List<Book> books);
+
+    int updatePricesMatching(BookSearchParameters searchParameters, BigDecimal factor,
+                             BigDecimal amount);
+
+    void streamAll(Consumer<BookDto> consumer);
+}
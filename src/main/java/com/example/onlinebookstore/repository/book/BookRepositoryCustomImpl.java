@@ -0,0 +1,404 @@
+package com.example.onlinebookstore.repository.book;
+
+import com.example.onlinebookstore.dto.book.BookDto;
+import com.example.onlinebookstore.dto.book.BookDtoWithoutCategoryIds;
+import com.example.onlinebookstore.dto.book.BookSearchParameters;
+import com.example.onlinebookstore.model.Book;
+import com.example.onlinebookstore.repository.keyset.KeysetCursor;
+import com.example.onlinebookstore.repository.keyset.KeysetQueries;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+public class BookRepositoryCustomImpl implements BookRepositoryCustom {
+    private static final String ID_FIELD = "id";
+    private static final String CATEGORIES_FIELD = "categories";
+    private static final String UPSERT_BOOK = "INSERT INTO books "
+            + "(title, author, isbn, price, description, cover_image, is_deleted) "
+            + "VALUES (:title, :author, :isbn, :price, :description, :coverImage, false) "
+            + "AS new ON DUPLICATE KEY UPDATE title = new.title, author = new.author, "
+            + "price = new.price, description = new.description, "
+            + "cover_image = new.cover_image, is_deleted = false, version = version + 1";
+    private static final String SELECT_IDS_BY_ISBN =
+            "SELECT id, isbn FROM books WHERE isbn IN (:isbns)";
+    private static final String DELETE_BOOK_CATEGORIES =
+            "DELETE FROM books_categories WHERE book_id IN (:bookIds)";
+    private static final String INSERT_BOOK_CATEGORY =
+            "INSERT INTO books_categories (book_id, category_id) VALUES (:bookId, :categoryId)";
+    private static final String UPDATE_PRICES = "UPDATE books b%s SET b.price = CASE "
+            + "WHEN b.price * :factor + :amount >= 0 THEN ROUND(b.price * :factor + :amount, 2) "
+            + "ELSE 0 END, b.version = b.version + 1 WHERE b.is_deleted = false%s";
+    private static final String JOIN_ANY_CATEGORY = " JOIN books_categories bc "
+            + "ON bc.book_id = b.id "
+            + "JOIN categories c ON c.id = bc.category_id AND c.is_deleted = false";
+    private static final String JOIN_ALL_CATEGORIES = " JOIN (SELECT bc.book_id "
+            + "FROM books_categories bc "
+            + "JOIN categories c ON c.id = bc.category_id AND c.is_deleted = false "
+            + "WHERE bc.category_id IN (:categoryIds) GROUP BY bc.book_id "
+            + "HAVING COUNT(DISTINCT bc.category_id) = :categoryCount) matched "
+            + "ON matched.book_id = b.id";
+    private static final String SELECT_ALL_WITH_CATEGORY_IDS = "SELECT b.id, b.title, b.author, "
+            + "b.isbn, b.price, b.description, b.cover_image, b.version, c.id AS category_id "
+            + "FROM books b "
+            + "LEFT JOIN books_categories bc ON bc.book_id = b.id "
+            + "LEFT JOIN categories c ON c.id = bc.category_id AND c.is_deleted = false "
+            + "WHERE b.is_deleted = false ORDER BY b.id";
+    private static final String SELECT_DTOS_BY_IDS = "SELECT b.id AS id, b.title AS title, "
+            + "b.author AS author, b.isbn AS isbn, b.price AS price, "
+            + "b.description AS description, b.coverImage AS coverImage, "
+            + "b.version AS version, c.id AS categoryId "
+            + "FROM Book b LEFT JOIN b.categories c WHERE b.id IN :ids";
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+    private static final Projection<Long> ID_PROJECTION = new Projection<>(Long.class,
+            (root, criteriaBuilder) -> root.get(ID_FIELD));
+    private static final Projection<BookDtoWithoutCategoryIds> SUMMARY_PROJECTION =
+            new Projection<>(BookDtoWithoutCategoryIds.class,
+                    (root, criteriaBuilder) -> criteriaBuilder.construct(
+                            BookDtoWithoutCategoryIds.class,
+                            root.get(ID_FIELD),
+                            root.get("title"),
+                            root.get("author"),
+                            root.get("isbn"),
+                            root.get("price"),
+                            root.get("description"),
+                            root.get("coverImage")));
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BookRepositoryCustomImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Page<Book> findAll(Specification<Book> specification, Pageable pageable) {
+        List<Book> books = findPage(specification, pageable);
+        return PageableExecutionUtils.getPage(books, pageable, () -> count(specification));
+    }
+
+    @Override
+    public Slice<Book> findSlice(Specification<Book> specification, Pageable pageable) {
+        List<Long> ids = findPageIds(specification, pageable, pageable.getPageSize() + 1);
+        boolean hasNext = ids.size() > pageable.getPageSize();
+        List<Book> books = fetchInOrder(hasNext ? ids.subList(0, pageable.getPageSize()) : ids);
+        return new SliceImpl<>(books, pageable, hasNext);
+    }
+
+    @Override
+    public Slice<BookDto> findDtoSlice(Pageable pageable) {
+        List<Long> ids = findPageIds((root, query, criteriaBuilder) -> null, pageable,
+                pageable.getPageSize() + 1);
+        boolean hasNext = ids.size() > pageable.getPageSize();
+        List<BookDto> books = fetchDtosInOrder(
+                hasNext ? ids.subList(0, pageable.getPageSize()) : ids);
+        return new SliceImpl<>(books, pageable, hasNext);
+    }
+
+    @Override
+    public List<BookDtoWithoutCategoryIds> findAllByCategoriesId(Long categoryId,
+                                                                 Pageable pageable) {
+        return selectPage(SUMMARY_PROJECTION, inCategory(categoryId), pageable,
+                pageable.getPageSize());
+    }
+
+    @Override
+    public List<Long> findIds(Specification<Book> specification, int limit) {
+        return findPageIds(specification, PageRequest.of(0, limit), limit);
+    }
+
+    @Override
+    public List<BookDto> findDtosAfter(KeysetCursor cursor, int limit) {
+        return fetchDtosInOrder(
+                findIdsAfter((root, query, criteriaBuilder) -> null, cursor, limit));
+    }
+
+    @Override
+    public List<BookDtoWithoutCategoryIds> findAllByCategoriesIdAfter(Long categoryId,
+                                                                      KeysetCursor cursor,
+                                                                      int limit) {
+        return selectAfter(SUMMARY_PROJECTION, inCategory(categoryId), cursor,
+                limit);
+    }
+
+    @Override
+    public int upsertAllByIsbn(List<Book> books) {
+        if (books.isEmpty()) {
+            return 0;
+        }
+        Map<String, Long> existing = findIdsByIsbn(books.stream().map(Book::getIsbn).toList());
+        jdbcTemplate.batchUpdate(UPSERT_BOOK, books.stream()
+                .map(BeanPropertySqlParameterSource::new)
+                .toArray(SqlParameterSource[]::new));
+        Map<String, Long> ids = new HashMap<>(existing);
+        List<String> inserted = books.stream()
+                .map(Book::getIsbn)
+                .filter(isbn -> !existing.containsKey(isbn))
+                .toList();
+        if (!inserted.isEmpty()) {
+            ids.putAll(findIdsByIsbn(inserted));
+        }
+        books.forEach(book -> book.setId(ids.get(book.getIsbn())));
+        jdbcTemplate.update(DELETE_BOOK_CATEGORIES,
+                Map.of("bookIds", books.stream().map(Book::getId).toList()));
+        jdbcTemplate.batchUpdate(INSERT_BOOK_CATEGORY, books.stream()
+                .flatMap(book -> book.getCategories().stream()
+                        .map(category -> new MapSqlParameterSource()
+                                .addValue("bookId", book.getId())
+                                .addValue("categoryId", category.getId())))
+                .toArray(SqlParameterSource[]::new));
+        return inserted.size();
+    }
+
+    @Override
+    public int updatePricesMatching(BookSearchParameters searchParameters, BigDecimal factor,
+                                    BigDecimal amount) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("factor", factor)
+                .addValue("amount", amount);
+        String join = "";
+        StringBuilder conditions = new StringBuilder();
+        List<Long> categoryIds = searchParameters.categoryIds();
+        if (!categoryIds.isEmpty()) {
+            parameters.addValue("categoryIds", categoryIds);
+            if (searchParameters.matchAllCategories()) {
+                join = JOIN_ALL_CATEGORIES;
+                parameters.addValue("categoryCount", new HashSet<>(categoryIds).size());
+            } else {
+                join = JOIN_ANY_CATEGORY;
+                conditions.append(" AND bc.category_id IN (:categoryIds)");
+            }
+        }
+        if (searchParameters.priceMin() != null) {
+            conditions.append(" AND b.price >= :priceMin");
+            parameters.addValue("priceMin", searchParameters.priceMin());
+        }
+        if (searchParameters.priceMax() != null) {
+            conditions.append(" AND b.price <= :priceMax");
+            parameters.addValue("priceMax", searchParameters.priceMax());
+        }
+        return jdbcTemplate.update(UPDATE_PRICES.formatted(join, conditions), parameters);
+    }
+
+    @Override
+    public void streamAll(Consumer<BookDto> consumer) {
+        BookRowCollector collector = new BookRowCollector(consumer);
+        jdbcTemplate.getJdbcOperations().query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    SELECT_ALL_WITH_CATEGORY_IDS,
+                    ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(STREAMING_FETCH_SIZE);
+            return statement;
+        }, collector);
+        collector.finish();
+    }
+
+    private Map<String, Long> findIdsByIsbn(List<String> isbns) {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query(SELECT_IDS_BY_ISBN, Map.of("isbns", isbns),
+                resultSet -> {
+                    ids.put(resultSet.getString("isbn"), resultSet.getLong("id"));
+                });
+        return ids;
+    }
+
+    private Specification<Book> inCategory(Long categoryId) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(
+                root.join(CATEGORIES_FIELD).get(ID_FIELD), categoryId);
+    }
+
+    private List<Book> findPage(Specification<Book> specification, Pageable pageable) {
+        return fetchInOrder(findPageIds(specification, pageable, pageable.getPageSize()));
+    }
+
+    private List<Book> fetchInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Book> books = entityManager.createQuery(
+                        "SELECT DISTINCT b FROM Book b LEFT JOIN FETCH b.categories "
+                                + "WHERE b.id IN :ids", Book.class)
+                .setParameter("ids", ids)
+                .getResultList();
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            positions.put(ids.get(i), i);
+        }
+        return books.stream()
+                .sorted(Comparator.comparing(book -> positions.get(book.getId())))
+                .toList();
+    }
+
+    private List<BookDto> fetchDtosInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, BookDto> books = new HashMap<>();
+        for (Tuple row : entityManager.createQuery(SELECT_DTOS_BY_IDS, Tuple.class)
+                .setParameter("ids", ids)
+                .getResultList()) {
+            BookDto book = books.computeIfAbsent(row.get("id", Long.class), id -> new BookDto()
+                    .setId(id)
+                    .setTitle(row.get("title", String.class))
+                    .setAuthor(row.get("author", String.class))
+                    .setIsbn(row.get("isbn", String.class))
+                    .setPrice(row.get("price", BigDecimal.class))
+                    .setDescription(row.get("description", String.class))
+                    .setCoverImage(row.get("coverImage", String.class))
+                    .setVersion(row.get("version", Long.class))
+                    .setCategoryIds(new HashSet<>()));
+            Long categoryId = row.get("categoryId", Long.class);
+            if (categoryId != null) {
+                book.getCategoryIds().add(categoryId);
+            }
+        }
+        return ids.stream()
+                .map(books::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<Long> findPageIds(Specification<Book> specification, Pageable pageable,
+                                   int limit) {
+        return selectPage(ID_PROJECTION, specification, pageable, limit);
+    }
+
+    private List<Long> findIdsAfter(Specification<Book> specification, KeysetCursor cursor,
+                                    int limit) {
+        return selectAfter(ID_PROJECTION, specification, cursor, limit);
+    }
+
+    private <T> List<T> selectPage(Projection<T> projection, Specification<Book> specification,
+                                   Pageable pageable, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = criteriaBuilder.createQuery(projection.type());
+        Root<Book> root = query.from(Book.class);
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        List<Order> orders = new ArrayList<>(pageable.getSort().isSorted()
+                ? QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder)
+                : query.getOrderList());
+        orders.add(criteriaBuilder.asc(root.get(ID_FIELD)));
+        query.select(projection.select(root, criteriaBuilder)).orderBy(orders);
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private <T> List<T> selectAfter(Projection<T> projection, Specification<Book> specification,
+                                    KeysetCursor cursor, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = criteriaBuilder.createQuery(projection.type());
+        Root<Book> root = query.from(Book.class);
+        List<Predicate> predicates = new ArrayList<>(2);
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            predicates.add(predicate);
+        }
+        Predicate after = KeysetQueries.after(root, criteriaBuilder, cursor);
+        if (after != null) {
+            predicates.add(after);
+        }
+        query.select(projection.select(root, criteriaBuilder))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(KeysetQueries.orderBy(root, criteriaBuilder, cursor));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private long count(Specification<Book> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Book> root = query.from(Book.class);
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(criteriaBuilder.count(root)).orderBy(List.of());
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static final class BookRowCollector implements RowCallbackHandler {
+        private final Consumer<BookDto> consumer;
+        private BookDto current;
+
+        private BookRowCollector(Consumer<BookDto> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void processRow(ResultSet resultSet) throws SQLException {
+            long id = resultSet.getLong("id");
+            if (current == null || current.getId() != id) {
+                finish();
+                current = new BookDto()
+                        .setId(id)
+                        .setTitle(resultSet.getString("title"))
+                        .setAuthor(resultSet.getString("author"))
+                        .setIsbn(resultSet.getString("isbn"))
+                        .setPrice(resultSet.getBigDecimal("price"))
+                        .setDescription(resultSet.getString("description"))
+                        .setCoverImage(resultSet.getString("cover_image"))
+                        .setVersion(resultSet.getLong("version"))
+                        .setCategoryIds(new LinkedHashSet<>());
+            }
+            long categoryId = resultSet.getLong("category_id");
+            if (!resultSet.wasNull()) {
+                current.getCategoryIds().add(categoryId);
+            }
+        }
+
+        private void finish() {
+            if (current != null) {
+                consumer.accept(current);
+                current = null;
+            }
+        }
+    }
+
+    private record Projection<T>(
+            Class<T> type,
+            BiFunction<Root<Book>, CriteriaBuilder, Selection<? extends T>> selection) {
+        private Selection<? extends T> select(Root<Book> root, CriteriaBuilder criteriaBuilder) {
+            return selection.apply(root, criteriaBuilder);
+        }
+    }
+}
@@ -4,7 +4,11 @@ import com.example.onlinebookstore.dto.book.BookSearchParameters;
 import com.example.onlinebookstore.model.Book;
 import com.example.onlinebookstore.repository.SpecificationBuilder;
 import com.example.onlinebookstore.repository.SpecificationProviderManager;
+import com.example.onlinebookstore.search.BookFilterIndex;
+import java.util.List;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
@@ -13,7 +17,16 @@ import org.springframework.stereotype.Component;
 public class BookSpecificationBuilder implements SpecificationBuilder<Book> {
     private static final String TITLE_KEY = "title";
     private static final String AUTHOR_KEY = "author";
+    private static final String FUZZY_KEY = "fuzzy";
+    private static final String CATEGORY_KEY = "category";
+    private static final String ALL_CATEGORIES_KEY = "allCategories";
+    private static final String PRICE_KEY = "price";
+    private static final String ID_FIELD = "id";
     private final SpecificationProviderManager<Book> bookSpecificationProviderManager;
+    private final BookFilterIndex bookFilterIndex;
+
+    @Value("${search.filter.max-ids}")
+    private int maxFilterIds;
 
     @Override
     public Specification<Book> build(BookSearchParameters searchParameters) {
@@ -28,6 +41,46 @@ public class BookSpecificationBuilder implements SpecificationBuilder<Book> {
                     .getSpecificationProvider(AUTHOR_KEY)
                     .getSpecification(searchParameters.authors()));
         }
+        if (searchParameters.fuzzy() != null && searchParameters.fuzzy().length > 0) {
+            spec = spec.and(bookSpecificationProviderManager
+                    .getSpecificationProvider(FUZZY_KEY)
+                    .getSpecification(searchParameters.fuzzy()));
+        }
+        if (searchParameters.hasCategoryOrPriceFilter()) {
+            spec = spec.and(buildCategoryAndPriceFilter(searchParameters));
+        }
         return spec;
     }
+
+    private Specification<Book> buildCategoryAndPriceFilter(BookSearchParameters parameters) {
+        boolean matchAll = parameters.matchAllCategories();
+        List<Long> categoryIds = parameters.categoryIds();
+        Optional<List<Long>> ids = bookFilterIndex.filter(categoryIds, matchAll,
+                parameters.priceMin(), parameters.priceMax(), maxFilterIds);
+        if (ids.isPresent()) {
+            List<Long> bookIds = ids.get();
+            return (root, query, criteriaBuilder) -> bookIds.isEmpty()
+                    ? criteriaBuilder.disjunction()
+                    : root.get(ID_FIELD).in(bookIds);
+        }
+        Specification<Book> spec = Specification.where(null);
+        if (!categoryIds.isEmpty()) {
+            spec = spec.and(bookSpecificationProviderManager
+                    .getSpecificationProvider(matchAll ? ALL_CATEGORIES_KEY : CATEGORY_KEY)
+                    .getSpecification(categoryIds.stream()
+                            .map(String::valueOf)
+                            .toArray(String[]::new)));
+        }
+        if (parameters.priceMin() != null || parameters.priceMax() != null) {
+            spec = spec.and(bookSpecificationProviderManager
+                    .getSpecificationProvider(PRICE_KEY)
+                    .getSpecification(new String[]{
+                            toParam(parameters.priceMin()), toParam(parameters.priceMax())}));
+        }
+        return spec;
+    }
+
+    private String toParam(Object value) {
+        return value == null ? null : value.toString();
+    }
 }
@@ -0,0 +1,41 @@
+package com.example.onlinebookstore.repository.book.spec;
+
+import com.example.onlinebookstore.model.Book;
+import com.example.onlinebookstore.repository.SpecificationProvider;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import java.util.Arrays;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AllCategoriesSpecificationProvider implements SpecificationProvider<Book> {
+    private static final String ALL_CATEGORIES_KEY = "allCategories";
+    private static final String CATEGORIES_FIELD = "categories";
+    private static final String ID_FIELD = "id";
+
+    @Override
+    public String getKey() {
+        return ALL_CATEGORIES_KEY;
+    }
+
+    public Specification<Book> getSpecification(String[] params) {
+        Long[] categoryIds = Arrays.stream(params)
+                .map(Long::valueOf)
+                .distinct()
+                .toArray(Long[]::new);
+        return (root, query, criteriaBuilder) -> {
+            Subquery<Long> books = query.subquery(Long.class);
+            Root<Book> book = books.from(Book.class);
+            Join<Book, ?> category = book.join(CATEGORIES_FIELD);
+            books.select(book.get(ID_FIELD))
+                    .where(category.get(ID_FIELD).in((Object[]) categoryIds))
+                    .groupBy(book.get(ID_FIELD))
+                    .having(criteriaBuilder.equal(
+                            criteriaBuilder.count(category.get(ID_FIELD)),
+                            (long) categoryIds.length));
+            return root.get(ID_FIELD).in(books);
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.onlinebookstore.repository.book.spec;
+
+import com.example.onlinebookstore.model.Book;
+import com.example.onlinebookstore.repository.SpecificationProvider;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import java.util.Arrays;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CategorySpecificationProvider implements SpecificationProvider<Book> {
+    private static final String CATEGORY_KEY = "category";
+    private static final String CATEGORIES_FIELD = "categories";
+    private static final String ID_FIELD = "id";
+
+    @Override
+    public String getKey() {
+        return CATEGORY_KEY;
+    }
+
+    public Specification<Book> getSpecification(String[] params) {
+        Long[] categoryIds = Arrays.stream(params).map(Long::valueOf).toArray(Long[]::new);
+        return (root, query, criteriaBuilder) -> {
+            Subquery<Long> books = query.subquery(Long.class);
+            Root<Book> book = books.from(Book.class);
+            books.select(book.get(ID_FIELD))
+                    .where(book.join(CATEGORIES_FIELD).get(ID_FIELD).in((Object[]) categoryIds));
+            return root.get(ID_FIELD).in(books);
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.onlinebookstore.repository.book.spec;
+
+import com.example.onlinebookstore.model.Book;
+import com.example.onlinebookstore.repository.SpecificationProvider;
+import com.example.onlinebookstore.search.TrigramIndex;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FuzzySpecificationProvider implements SpecificationProvider<Book> {
+    private static final String FUZZY_KEY = "fuzzy";
+    private static final String ID_FIELD = "id";
+    private final TrigramIndex trigramIndex;
+    private final int maxCandidates;
+
+    public FuzzySpecificationProvider(TrigramIndex trigramIndex,
+                                      @Value("${search.fuzzy.max-candidates}") int maxCandidates) {
+        this.trigramIndex = trigramIndex;
+        this.maxCandidates = maxCandidates;
+    }
+
+    @Override
+    public String getKey() {
+        return FUZZY_KEY;
+    }
+
+    public Specification<Book> getSpecification(String[] params) {
+        List<Long> ids = trigramIndex.search(String.join(" ", params), maxCandidates);
+        return (root, query, criteriaBuilder) -> {
+            if (ids.isEmpty()) {
+                return criteriaBuilder.disjunction();
+            }
+            CriteriaBuilder.SimpleCase<Long, Integer> rank =
+                    criteriaBuilder.selectCase(root.get(ID_FIELD));
+            for (int i = 0; i < ids.size(); i++) {
+                rank.when(ids.get(i), i);
+            }
+            query.orderBy(criteriaBuilder.asc(rank.otherwise(ids.size())));
+            return root.get(ID_FIELD).in(ids);
+        };
+    }
+}
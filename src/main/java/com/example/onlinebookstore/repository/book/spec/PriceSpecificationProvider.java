@@ -0,0 +1,35 @@
+package com.example.onlinebookstore.repository.book.spec;
+
+import com.example.onlinebookstore.model.Book;
+import com.example.onlinebookstore.repository.SpecificationProvider;
+import jakarta.persistence.criteria.Path;
+import java.math.BigDecimal;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+@Component
+public class PriceSpecificationProvider implements SpecificationProvider<Book> {
+    private static final String PRICE_KEY = "price";
+
+    @Override
+    public String getKey() {
+        return PRICE_KEY;
+    }
+
+    public Specification<Book> getSpecification(String[] params) {
+        BigDecimal min = StringUtils.hasText(params[0]) ? new BigDecimal(params[0]) : null;
+        BigDecimal max = params.length > 1 && StringUtils.hasText(params[1])
+                ? new BigDecimal(params[1])
+                : null;
+        return (root, query, criteriaBuilder) -> {
+            Path<BigDecimal> price = root.get(PRICE_KEY);
+            if (min != null && max != null) {
+                return criteriaBuilder.between(price, min, max);
+            }
+            return min != null
+                    ? criteriaBuilder.greaterThanOrEqualTo(price, min)
+                    : criteriaBuilder.lessThanOrEqualTo(price, max);
+        };
+    }
+}
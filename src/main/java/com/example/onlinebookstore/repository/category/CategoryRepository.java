@@ -1,7 +1,15 @@
 package com.example.onlinebookstore.repository.category;
 
 import com.example.onlinebookstore.model.Category;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    @Query("SELECT c.id FROM Category c")
+    List<Long> findAllIds();
+
+    @Query("SELECT c.version FROM Category c WHERE c.id = :id")
+    Optional<Long> findVersionById(Long id);
 }
@@ -0,0 +1,89 @@
+package com.example.onlinebookstore.repository.keyset;
+
+import com.example.onlinebookstore.exception.InvalidCursorException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Set;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+
+public record KeysetCursor(String property, Sort.Direction direction, Long id, String value) {
+    private static final String ID_PROPERTY = "id";
+    private static final String SEPARATOR = "\n";
+    private static final int PARTS = 4;
+    private static final String INVALID_CURSOR_MESSAGE = "Invalid cursor";
+
+    public static KeysetCursor of(String token, Sort sort, Set<String> properties) {
+        if (token == null || token.isEmpty()) {
+            Sort.Order order = sort.stream()
+                    .findFirst()
+                    .orElse(Sort.Order.asc(ID_PROPERTY));
+            return validate(new KeysetCursor(
+                    order.getProperty(), order.getDirection(), null, null), properties);
+        }
+        try {
+            String decoded = new String(
+                    Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR, PARTS);
+            if (parts.length != PARTS) {
+                throw new InvalidCursorException(INVALID_CURSOR_MESSAGE);
+            }
+            return validate(new KeysetCursor(
+                    parts[0], Sort.Direction.valueOf(parts[1]), Long.valueOf(parts[2]), parts[3]),
+                    properties);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(INVALID_CURSOR_MESSAGE);
+        }
+    }
+
+    public boolean isFirst() {
+        return id == null;
+    }
+
+    public boolean isById() {
+        return ID_PROPERTY.equals(property);
+    }
+
+    public KeysetCursor next(Object entity, Long lastId) {
+        Object lastValue = new BeanWrapperImpl(entity).getPropertyValue(property);
+        String encodedValue = lastValue instanceof BigDecimal decimal
+                ? decimal.toPlainString()
+                : String.valueOf(lastValue);
+        return new KeysetCursor(property, direction, lastId, encodedValue);
+    }
+
+    public Comparable<?> typedValue(Class<?> type) {
+        try {
+            if (type == String.class) {
+                return value;
+            }
+            if (type == BigDecimal.class) {
+                return new BigDecimal(value);
+            }
+            if (type == LocalDateTime.class) {
+                return LocalDateTime.parse(value);
+            }
+            if (type == Long.class) {
+                return Long.valueOf(value);
+            }
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException(INVALID_CURSOR_MESSAGE);
+        }
+        throw new InvalidCursorException("Can't page by " + property);
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, property, direction.name(), String.valueOf(id), value);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static KeysetCursor validate(KeysetCursor cursor, Set<String> properties) {
+        if (!properties.contains(cursor.property())) {
+            throw new InvalidCursorException("Can't page by " + cursor.property());
+        }
+        return cursor;
+    }
+}
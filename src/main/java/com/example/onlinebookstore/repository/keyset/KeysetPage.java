@@ -0,0 +1,20 @@
+package com.example.onlinebookstore.repository.keyset;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record KeysetPage<T>(List<T> content, String nextCursor) {
+    public static <E> KeysetPage<E> of(List<E> rows, int size, KeysetCursor cursor,
+                                       Function<E, Long> idExtractor) {
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<E> content = rows.subList(0, size);
+        E last = content.get(size - 1);
+        return new KeysetPage<>(content, cursor.next(last, idExtractor.apply(last)).encode());
+    }
+
+    public <R> KeysetPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new KeysetPage<>(content.stream().<R>map(mapper).toList(), nextCursor);
+    }
+}
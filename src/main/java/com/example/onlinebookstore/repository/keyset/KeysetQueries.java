@@ -0,0 +1,58 @@
+package com.example.onlinebookstore.repository.keyset;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.domain.Sort;
+
+public final class KeysetQueries {
+    private static final String ID_FIELD = "id";
+
+    private KeysetQueries() {
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Predicate after(Root<?> root, CriteriaBuilder criteriaBuilder,
+                                  KeysetCursor cursor) {
+        if (cursor.isFirst()) {
+            return null;
+        }
+        boolean ascending = cursor.direction() == Sort.Direction.ASC;
+        Path<Long> id = root.get(ID_FIELD);
+        Predicate idAfter = ascending
+                ? criteriaBuilder.greaterThan(id, cursor.id())
+                : criteriaBuilder.lessThan(id, cursor.id());
+        if (cursor.isById()) {
+            return idAfter;
+        }
+        Path<Comparable> key = root.get(cursor.property());
+        Comparable value = cursor.typedValue(key.getJavaType());
+        Predicate keyAfter = ascending
+                ? criteriaBuilder.greaterThan((Expression) key, value)
+                : criteriaBuilder.lessThan((Expression) key, value);
+        return criteriaBuilder.or(keyAfter,
+                criteriaBuilder.and(criteriaBuilder.equal(key, value), idAfter));
+    }
+
+    public static List<Order> orderBy(Root<?> root, CriteriaBuilder criteriaBuilder,
+                                      KeysetCursor cursor) {
+        List<Order> orders = new ArrayList<>(2);
+        if (!cursor.isById()) {
+            orders.add(order(root.get(cursor.property()), criteriaBuilder, cursor));
+        }
+        orders.add(order(root.get(ID_FIELD), criteriaBuilder, cursor));
+        return orders;
+    }
+
+    private static Order order(Path<?> path, CriteriaBuilder criteriaBuilder,
+                               KeysetCursor cursor) {
+        return cursor.direction() == Sort.Direction.ASC
+                ? criteriaBuilder.asc(path)
+                : criteriaBuilder.desc(path);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.onlinebookstore.repository.order;
+
+import com.example.onlinebookstore.dto.order.OrderDto;
+import com.example.onlinebookstore.repository.keyset.KeysetCursor;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+
+public interface OrderRepositoryCustom {
+    List<OrderDto> findDtosByUserId(Long userId, Pageable pageable);
+
+    List<OrderDto> findDtosByUserIdAfter(Long userId, KeysetCursor cursor, int limit);
+}
@@ -0,0 +1,105 @@
+package com.example.onlinebookstore.repository.order;
+
+import com.example.onlinebookstore.dto.order.OrderDto;
+import com.example.onlinebookstore.dto.orderitem.OrderItemDto;
+import com.example.onlinebookstore.model.Order;
+import com.example.onlinebookstore.repository.keyset.KeysetCursor;
+import com.example.onlinebookstore.repository.keyset.KeysetQueries;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+    private static final String ID_FIELD = "id";
+    private static final String USER_FIELD = "user";
+    private static final String SELECT_ITEMS_BY_ORDER_IDS = "SELECT oi.order.id AS orderId, "
+            + "oi.id AS id, oi.book.id AS bookId, oi.quantity AS quantity, oi.price AS price "
+            + "FROM OrderItem oi WHERE oi.order.id IN :orderIds ORDER BY oi.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderDto> findDtosByUserId(Long userId, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Order> root = query.from(Order.class);
+        query.multiselect(columns(root))
+                .where(criteriaBuilder.equal(root.get(USER_FIELD).get(ID_FIELD), userId))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+        return fetchItems(entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize()));
+    }
+
+    @Override
+    public List<OrderDto> findDtosByUserIdAfter(Long userId, KeysetCursor cursor, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Order> root = query.from(Order.class);
+        List<Predicate> predicates = new ArrayList<>(2);
+        predicates.add(criteriaBuilder.equal(root.get(USER_FIELD).get(ID_FIELD), userId));
+        Predicate after = KeysetQueries.after(root, criteriaBuilder, cursor);
+        if (after != null) {
+            predicates.add(after);
+        }
+        query.multiselect(columns(root))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(KeysetQueries.orderBy(root, criteriaBuilder, cursor));
+        return fetchItems(entityManager.createQuery(query)
+                .setMaxResults(limit));
+    }
+
+    private List<Selection<?>> columns(Root<Order> root) {
+        return List.of(
+                root.get(ID_FIELD).alias("id"),
+                root.get(USER_FIELD).get(ID_FIELD).alias("userId"),
+                root.get("status").alias("status"),
+                root.get("total").alias("total"),
+                root.get("orderDate").alias("orderDate"),
+                root.get("shippingAddress").alias("shippingAddress"));
+    }
+
+    private List<OrderDto> fetchItems(TypedQuery<Tuple> ordersQuery) {
+        Map<Long, OrderDto> orders = new LinkedHashMap<>();
+        for (Tuple row : ordersQuery.getResultList()) {
+            OrderDto order = new OrderDto();
+            order.setId(row.get("id", Long.class));
+            order.setUserId(row.get("userId", Long.class));
+            order.setStatus(row.get("status", Order.Status.class));
+            order.setTotal(row.get("total", BigDecimal.class));
+            order.setOrderDate(row.get("orderDate", LocalDateTime.class));
+            order.setShippingAddress(row.get("shippingAddress", String.class));
+            order.setOrderItems(new ArrayList<>());
+            orders.put(order.getId(), order);
+        }
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        for (Tuple row : entityManager.createQuery(SELECT_ITEMS_BY_ORDER_IDS, Tuple.class)
+                .setParameter("orderIds", orders.keySet())
+                .getResultList()) {
+            OrderItemDto item = new OrderItemDto();
+            item.setId(row.get("id", Long.class));
+            item.setBookId(row.get("bookId", Long.class));
+            item.setQuantity(row.get("quantity", Integer.class));
+            item.setPrice(row.get("price", BigDecimal.class));
+            orders.get(row.get("orderId", Long.class)).getOrderItems().add(item);
+        }
+        return new ArrayList<>(orders.values());
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.onlinebookstore.repository.orderitem;
+
+public interface BookSales {
+    Long getBookId();
+
+    Long getQuantity();
+}
@@ -1,10 +1,16 @@
 package com.example.onlinebookstore.repository.orderitem;
 
 import com.example.onlinebookstore.model.OrderItem;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     Optional<OrderItem> getOrderItemByIdAndOrder_IdAndOrder_User_Id(
             Long itemId, Long orderId, Long userId);
+
+    @Query("SELECT oi.book.id AS bookId, SUM(oi.quantity) AS quantity "
+            + "FROM OrderItem oi GROUP BY oi.book.id")
+    List<BookSales> findAllBookSales();
 }
@@ -0,0 +1,296 @@
+package com.example.onlinebookstore.search;
+
+import com.example.onlinebookstore.dto.book.BookFacetsDto;
+import com.example.onlinebookstore.dto.book.FacetCountDto;
+import com.example.onlinebookstore.lib.CompressedBitmap;
+import com.example.onlinebookstore.model.Book;
+import com.example.onlinebookstore.model.Category;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BookFilterIndex implements BookIndex {
+    private static final int INITIAL_CAPACITY = 1024;
+    private final long priceBucketWidth;
+    private final long[] priceBands;
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final Map<Long, CompressedBitmap> categories = new HashMap<>();
+    private final TreeMap<Long, CompressedBitmap> priceBuckets = new TreeMap<>();
+    private final Map<Long, Integer> categoryOrdinals = new HashMap<>();
+    private final List<Long> categoryIdsByOrdinal = new ArrayList<>();
+    private final Map<String, Integer> authorOrdinals = new HashMap<>();
+    private final List<String> authorsByOrdinal = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long[] bookIds = new long[INITIAL_CAPACITY];
+    private long[] prices = new long[INITIAL_CAPACITY];
+    private int[][] bookCategories = new int[INITIAL_CAPACITY][];
+    private int[] bookAuthors = new int[INITIAL_CAPACITY];
+    private int nextOrdinal;
+
+    public BookFilterIndex(@Value("${search.filter.price-bucket-width}") long priceBucketWidth,
+                           @Value("${search.facets.price-bands}") BigDecimal[] priceBands) {
+        this.priceBucketWidth = priceBucketWidth;
+        this.priceBands = Arrays.stream(priceBands)
+                .mapToLong(band -> toCents(band, RoundingMode.HALF_UP))
+                .sorted()
+                .toArray();
+    }
+
+    @Override
+    public void index(Book book) {
+        List<Long> bookCategoryIds = book.getCategories().stream()
+                .map(Category::getId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        long price = toCents(book.getPrice(), RoundingMode.HALF_UP);
+        lock.writeLock().lock();
+        try {
+            removeBook(book.getId());
+            int ordinal = freeOrdinals.isEmpty() ? nextOrdinal++ : freeOrdinals.pop();
+            ensureCapacity(ordinal);
+            ordinals.put(book.getId(), ordinal);
+            bookIds[ordinal] = book.getId();
+            prices[ordinal] = price;
+            bookCategories[ordinal] = new int[bookCategoryIds.size()];
+            for (int i = 0; i < bookCategoryIds.size(); i++) {
+                Long categoryId = bookCategoryIds.get(i);
+                bookCategories[ordinal][i] = categoryOrdinals.computeIfAbsent(categoryId, id -> {
+                    categoryIdsByOrdinal.add(id);
+                    return categoryIdsByOrdinal.size() - 1;
+                });
+                categories.computeIfAbsent(categoryId, id -> new CompressedBitmap()).add(ordinal);
+            }
+            bookAuthors[ordinal] = authorOrdinals.computeIfAbsent(book.getAuthor(), author -> {
+                authorsByOrdinal.add(author);
+                return authorsByOrdinal.size() - 1;
+            });
+            priceBuckets.computeIfAbsent(price / priceBucketWidth, bucket -> new CompressedBitmap())
+                    .add(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeBook(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<List<Long>> filter(Collection<Long> categoryIds, boolean matchAll,
+                                       BigDecimal priceMin, BigDecimal priceMax,
+                                       int maxResults) {
+        lock.readLock().lock();
+        try {
+            CompressedBitmap matches = match(categoryIds, matchAll, priceMin, priceMax);
+            if (matches == null || matches.cardinality() > maxResults) {
+                return Optional.empty();
+            }
+            List<Long> ids = new ArrayList<>(matches.cardinality());
+            matches.forEach(ordinal -> ids.add(bookIds[ordinal]));
+            return Optional.of(ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public BookFacetsDto facets(Collection<Long> categoryIds, boolean matchAll,
+                                BigDecimal priceMin, BigDecimal priceMax, int maxValues) {
+        lock.readLock().lock();
+        try {
+            FacetCounter counter = new FacetCounter();
+            CompressedBitmap matches = match(categoryIds, matchAll, priceMin, priceMax);
+            if (matches == null) {
+                ordinals.values().forEach(counter::add);
+            } else {
+                matches.forEach(counter::add);
+            }
+            return counter.toDto(maxValues);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public BookFacetsDto facets(Collection<Long> ids, int maxValues) {
+        lock.readLock().lock();
+        try {
+            FacetCounter counter = new FacetCounter();
+            for (Long id : ids) {
+                Integer ordinal = ordinals.get(id);
+                if (ordinal != null) {
+                    counter.add(ordinal);
+                }
+            }
+            return counter.toDto(maxValues);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private CompressedBitmap match(Collection<Long> categoryIds, boolean matchAll,
+                                   BigDecimal priceMin, BigDecimal priceMax) {
+        CompressedBitmap matches = null;
+        if (categoryIds != null && !categoryIds.isEmpty()) {
+            matches = matchCategories(categoryIds, matchAll);
+        }
+        if (priceMin != null || priceMax != null) {
+            CompressedBitmap inRange = matchPrices(priceMin, priceMax);
+            matches = matches == null ? inRange : matches.and(inRange);
+        }
+        return matches;
+    }
+
+    private CompressedBitmap matchCategories(Collection<Long> categoryIds, boolean matchAll) {
+        CompressedBitmap matches = null;
+        for (Long categoryId : categoryIds) {
+            CompressedBitmap books = categories.getOrDefault(categoryId, new CompressedBitmap());
+            if (matches == null) {
+                matches = books;
+            } else {
+                matches = matchAll ? matches.and(books) : matches.or(books);
+            }
+        }
+        return matches;
+    }
+
+    private CompressedBitmap matchPrices(BigDecimal priceMin, BigDecimal priceMax) {
+        long min = priceMin == null ? 0L : toCents(priceMin, RoundingMode.CEILING);
+        long max = priceMax == null ? Long.MAX_VALUE : toCents(priceMax, RoundingMode.FLOOR);
+        CompressedBitmap matches = new CompressedBitmap();
+        if (min > max) {
+            return matches;
+        }
+        long minBucket = min / priceBucketWidth;
+        long maxBucket = max / priceBucketWidth;
+        for (Map.Entry<Long, CompressedBitmap> bucket
+                : priceBuckets.subMap(minBucket, true, maxBucket, true).entrySet()) {
+            if (bucket.getKey() > minBucket && bucket.getKey() < maxBucket) {
+                matches = matches.or(bucket.getValue());
+                continue;
+            }
+            CompressedBitmap boundary = new CompressedBitmap();
+            bucket.getValue().forEach(ordinal -> {
+                if (prices[ordinal] >= min && prices[ordinal] <= max) {
+                    boundary.add(ordinal);
+                }
+            });
+            matches = matches.or(boundary);
+        }
+        return matches;
+    }
+
+    private void removeBook(Long id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal == null) {
+            return;
+        }
+        for (int categoryOrdinal : bookCategories[ordinal]) {
+            Long categoryId = categoryIdsByOrdinal.get(categoryOrdinal);
+            CompressedBitmap books = categories.get(categoryId);
+            books.remove(ordinal);
+            if (books.isEmpty()) {
+                categories.remove(categoryId);
+            }
+        }
+        long bucket = prices[ordinal] / priceBucketWidth;
+        CompressedBitmap books = priceBuckets.get(bucket);
+        books.remove(ordinal);
+        if (books.isEmpty()) {
+            priceBuckets.remove(bucket);
+        }
+        bookCategories[ordinal] = null;
+        freeOrdinals.push(ordinal);
+    }
+
+    private void ensureCapacity(int ordinal) {
+        if (ordinal < bookIds.length) {
+            return;
+        }
+        int capacity = Math.max(ordinal + 1, bookIds.length * 2);
+        bookIds = Arrays.copyOf(bookIds, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        bookCategories = Arrays.copyOf(bookCategories, capacity);
+        bookAuthors = Arrays.copyOf(bookAuthors, capacity);
+    }
+
+    private String priceBandLabel(int band) {
+        String from = band == 0 ? "*" : toPrice(priceBands[band - 1]);
+        String to = band == priceBands.length ? "*" : toPrice(priceBands[band]);
+        return from + "-" + to;
+    }
+
+    private static String toPrice(long cents) {
+        return BigDecimal.valueOf(cents, 2).stripTrailingZeros().toPlainString();
+    }
+
+    private static long toCents(BigDecimal price, RoundingMode roundingMode) {
+        return price.movePointRight(2).setScale(0, roundingMode).longValueExact();
+    }
+
+    private final class FacetCounter {
+        private final int[] categoryCounts = new int[categoryIdsByOrdinal.size()];
+        private final int[] authorCounts = new int[authorsByOrdinal.size()];
+        private final int[] priceBandCounts = new int[priceBands.length + 1];
+
+        private void add(int ordinal) {
+            for (int categoryOrdinal : bookCategories[ordinal]) {
+                categoryCounts[categoryOrdinal]++;
+            }
+            authorCounts[bookAuthors[ordinal]]++;
+            int band = Arrays.binarySearch(priceBands, prices[ordinal]);
+            priceBandCounts[band >= 0 ? band + 1 : -band - 1]++;
+        }
+
+        private BookFacetsDto toDto(int maxValues) {
+            List<FacetCountDto> categoryFacets = new ArrayList<>();
+            for (int i = 0; i < categoryCounts.length; i++) {
+                if (categoryCounts[i] > 0) {
+                    categoryFacets.add(new FacetCountDto(
+                            String.valueOf(categoryIdsByOrdinal.get(i)), categoryCounts[i]));
+                }
+            }
+            List<FacetCountDto> authorFacets = new ArrayList<>();
+            for (int i = 0; i < authorCounts.length; i++) {
+                if (authorCounts[i] > 0) {
+                    authorFacets.add(new FacetCountDto(authorsByOrdinal.get(i), authorCounts[i]));
+                }
+            }
+            List<FacetCountDto> priceFacets = new ArrayList<>(priceBandCounts.length);
+            for (int i = 0; i < priceBandCounts.length; i++) {
+                priceFacets.add(new FacetCountDto(priceBandLabel(i), priceBandCounts[i]));
+            }
+            return new BookFacetsDto(top(categoryFacets, maxValues),
+                    top(authorFacets, maxValues), priceFacets);
+        }
+
+        private List<FacetCountDto> top(List<FacetCountDto> facets, int maxValues) {
+            return facets.stream()
+                    .sorted(Comparator.comparingInt(FacetCountDto::count).reversed()
+                            .thenComparing(FacetCountDto::value))
+                    .limit(maxValues)
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.onlinebookstore.search;
+
+import com.example.onlinebookstore.model.Book;
+
+public interface BookIndex {
+    void index(Book book);
+
+    void remove(Long id);
+}
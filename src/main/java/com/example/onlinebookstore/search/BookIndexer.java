@@ -0,0 +1,64 @@
+package com.example.onlinebookstore.search;
+
+import com.example.onlinebookstore.model.Book;
+import com.example.onlinebookstore.repository.book.BookRepository;
+import jakarta.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.LongFunction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BookIndexer {
+    private final BookRepository bookRepository;
+    private final List<BookIndex> bookIndexes;
+    private final int batchSize;
+
+    public BookIndexer(BookRepository bookRepository,
+                       List<BookIndex> bookIndexes,
+                       @Value("${search.index.batch-size}") int batchSize) {
+        this.bookRepository = bookRepository;
+        this.bookIndexes = bookIndexes;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        indexBatches(lastId -> bookRepository.findIdsGreaterThan(lastId,
+                PageRequest.of(0, batchSize)));
+    }
+
+    public void reindexCategories(Collection<Long> categoryIds) {
+        indexBatches(lastId -> bookRepository.findIdsInCategoriesGreaterThan(categoryIds, lastId,
+                PageRequest.of(0, batchSize)));
+    }
+
+    public void reindex(List<Long> ids) {
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            bookRepository.findAllByIdIn(ids.subList(from, Math.min(from + batchSize, ids.size())))
+                    .forEach(this::index);
+        }
+    }
+
+    public void index(Book book) {
+        bookIndexes.forEach(bookIndex -> bookIndex.index(book));
+    }
+
+    public void remove(Long id) {
+        bookIndexes.forEach(bookIndex -> bookIndex.remove(id));
+    }
+
+    private void indexBatches(LongFunction<List<Long>> nextBatch) {
+        long lastId = 0L;
+        List<Long> batch;
+        do {
+            batch = nextBatch.apply(lastId);
+            if (!batch.isEmpty()) {
+                bookRepository.findAllByIdIn(batch).forEach(this::index);
+                lastId = batch.get(batch.size() - 1);
+            }
+        } while (batch.size() == batchSize);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.onlinebookstore.search;
+
+import com.example.onlinebookstore.model.Book;
+import com.example.onlinebookstore.model.Category;
+import com.example.onlinebookstore.repository.book.BookCategory;
+import com.example.onlinebookstore.repository.book.BookRepository;
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class CatalogTotals {
+    private final BookRepository bookRepository;
+    private final Map<Long, long[]> bookCategories = new HashMap<>();
+    private final Map<Long, Long> categoryTotals = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    public void load() {
+        Map<Long, List<Long>> loaded = new HashMap<>();
+        for (BookCategory row : bookRepository.findAllBookCategories()) {
+            List<Long> categoryIds = loaded.computeIfAbsent(row.getBookId(),
+                    id -> new ArrayList<>(2));
+            if (row.getCategoryId() != null) {
+                categoryIds.add(row.getCategoryId());
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            bookCategories.clear();
+            categoryTotals.clear();
+            loaded.forEach((bookId, categoryIds) -> put(bookId, categoryIds.stream()
+                    .mapToLong(Long::longValue)
+                    .toArray()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long total() {
+        lock.readLock().lock();
+        try {
+            return bookCategories.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long total(Long categoryId) {
+        lock.readLock().lock();
+        try {
+            return categoryTotals.getOrDefault(categoryId, 0L);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void index(Book book) {
+        long[] categoryIds = book.getCategories().stream()
+                .map(Category::getId)
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .toArray();
+        lock.writeLock().lock();
+        try {
+            put(book.getId(), categoryIds);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            adjust(bookCategories.remove(id), -1L);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeCategory(Long categoryId) {
+        lock.writeLock().lock();
+        try {
+            if (categoryTotals.remove(categoryId) == null) {
+                return;
+            }
+            bookCategories.replaceAll((bookId, categoryIds) -> Arrays.stream(categoryIds)
+                    .anyMatch(id -> id == categoryId)
+                    ? Arrays.stream(categoryIds).filter(id -> id != categoryId).toArray()
+                    : categoryIds);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(Long bookId, long[] categoryIds) {
+        adjust(bookCategories.put(bookId, categoryIds), -1L);
+        adjust(categoryIds, 1L);
+    }
+
+    private void adjust(long[] categoryIds, long delta) {
+        if (categoryIds == null) {
+            return;
+        }
+        for (long categoryId : categoryIds) {
+            categoryTotals.compute(categoryId, (id, total) -> {
+                long updated = (total == null ? 0L : total) + delta;
+                return updated > 0 ? updated : null;
+            });
+        }
+    }
+}
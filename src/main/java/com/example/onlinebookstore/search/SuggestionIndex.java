@@ -0,0 +1,359 @@
+package com.example.onlinebookstore.search;
+
+import com.example.onlinebookstore.dto.book.BookSuggestionDto;
+import com.example.onlinebookstore.model.Book;
+import com.example.onlinebookstore.repository.orderitem.BookSales;
+import com.example.onlinebookstore.repository.orderitem.OrderItemRepository;
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SuggestionIndex implements BookIndex {
+    private static final String TITLE_TYPE = "title";
+    private static final String AUTHOR_TYPE = "author";
+    private static final int MAX_WORD_STARTS = 5;
+    private static final Comparator<Completion> BY_WEIGHT =
+            Comparator.comparingLong((Completion c) -> c.weight).reversed()
+                    .thenComparing(c -> c.suggestion.text());
+    private final OrderItemRepository orderItemRepository;
+    private final int maxSuggestions;
+    private final Node root = new Node();
+    private final Map<String, Completion> completions = new HashMap<>();
+    private final Map<Long, IndexedBook> books = new HashMap<>();
+    private final Map<Long, Long> sales = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public SuggestionIndex(OrderItemRepository orderItemRepository,
+                           @Value("${search.suggest.max-size}") int maxSuggestions) {
+        this.orderItemRepository = orderItemRepository;
+        this.maxSuggestions = maxSuggestions;
+    }
+
+    @PostConstruct
+    public void loadSales() {
+        List<BookSales> bookSales = orderItemRepository.findAllBookSales();
+        lock.writeLock().lock();
+        try {
+            bookSales.forEach(s -> sales.put(s.getBookId(), s.getQuantity()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Book book) {
+        lock.writeLock().lock();
+        try {
+            removeBook(book.getId());
+            long weight = sales.getOrDefault(book.getId(), 0L);
+            books.put(book.getId(), new IndexedBook(
+                    acquire(book.getTitle(), TITLE_TYPE, weight),
+                    acquire(book.getAuthor(), AUTHOR_TYPE, weight)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeBook(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void recordSale(Long bookId, long quantity) {
+        lock.writeLock().lock();
+        try {
+            sales.merge(bookId, quantity, Long::sum);
+            IndexedBook book = books.get(bookId);
+            if (book == null) {
+                return;
+            }
+            for (Completion completion : book.completions()) {
+                completion.weight += quantity;
+                refresh(completion, true);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<BookSuggestionDto> suggest(String prefix, int limit) {
+        if (prefix == null || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = isAscii(prefix) ? walkAscii(prefix) : walk(prefix);
+            if (node == null || node == root) {
+                return List.of();
+            }
+            List<BookSuggestionDto> suggestions = node.suggestions;
+            return limit >= suggestions.size() ? suggestions : suggestions.subList(0, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Node walkAscii(String prefix) {
+        Node node = root;
+        boolean separator = false;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            char c = prefix.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                separator = node != root;
+                continue;
+            }
+            if (separator) {
+                node = node.child(' ');
+                separator = false;
+            }
+            if (node != null) {
+                node = node.child(Character.toLowerCase(c));
+            }
+        }
+        return node;
+    }
+
+    private Node walk(String prefix) {
+        return find(String.join(" ", TextNormalizer.tokenize(prefix)));
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 127) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Completion acquire(String text, String type, long weight) {
+        String key = String.join(" ", TextNormalizer.tokenize(text));
+        if (key.isEmpty()) {
+            return null;
+        }
+        Completion completion = completions.get(type + ':' + key);
+        if (completion == null) {
+            completion = new Completion(key, new BookSuggestionDto(text, type));
+            completions.put(type + ':' + key, completion);
+            for (String path : completion.paths) {
+                insert(path).terminals.add(completion);
+            }
+        }
+        completion.books++;
+        completion.weight += weight;
+        refresh(completion, true);
+        return completion;
+    }
+
+    private void release(Completion completion, long weight) {
+        if (completion == null) {
+            return;
+        }
+        completion.weight -= weight;
+        if (--completion.books == 0) {
+            completions.remove(completion.suggestion.type() + ':' + completion.key);
+            for (String path : completion.paths) {
+                Node node = find(path);
+                if (node != null) {
+                    node.terminals.remove(completion);
+                }
+            }
+        }
+        refresh(completion, false);
+    }
+
+    private void removeBook(Long id) {
+        IndexedBook book = books.remove(id);
+        if (book == null) {
+            return;
+        }
+        long weight = sales.getOrDefault(id, 0L);
+        release(book.title(), weight);
+        release(book.author(), weight);
+    }
+
+    private void refresh(Completion completion, boolean increased) {
+        if (completion == null) {
+            return;
+        }
+        for (String path : completion.paths) {
+            List<Node> nodes = new ArrayList<>(path.length() + 1);
+            Node node = root;
+            nodes.add(node);
+            for (int i = 0; i < path.length() && node != null; i++) {
+                node = node.child(path.charAt(i));
+                nodes.add(node);
+            }
+            for (int i = nodes.size() - 1; i >= 0; i--) {
+                Node current = nodes.get(i);
+                if (current == null) {
+                    continue;
+                }
+                if (i > 0 && current.isEmpty()) {
+                    nodes.get(i - 1).removeChild(path.charAt(i - 1));
+                } else if (!current.update(completion, increased, maxSuggestions)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private Node insert(String path) {
+        Node node = root;
+        for (int i = 0; i < path.length(); i++) {
+            node = node.childOrCreate(path.charAt(i));
+        }
+        return node;
+    }
+
+    private Node find(String path) {
+        Node node = root;
+        for (int i = 0; i < path.length() && node != null; i++) {
+            node = node.child(path.charAt(i));
+        }
+        return node;
+    }
+
+    private static List<String> paths(String key) {
+        List<String> paths = new ArrayList<>();
+        paths.add(key);
+        int start = key.indexOf(' ');
+        while (start >= 0 && paths.size() <= MAX_WORD_STARTS) {
+            paths.add(key.substring(start + 1));
+            start = key.indexOf(' ', start + 1);
+        }
+        return paths;
+    }
+
+    private record IndexedBook(Completion title, Completion author) {
+        private List<Completion> completions() {
+            return Stream.of(title, author)
+                    .filter(Objects::nonNull)
+                    .toList();
+        }
+    }
+
+    private static final class Completion {
+        private final String key;
+        private final List<String> paths;
+        private final BookSuggestionDto suggestion;
+        private long weight;
+        private int books;
+
+        private Completion(String key, BookSuggestionDto suggestion) {
+            this.key = key;
+            this.paths = paths(key);
+            this.suggestion = suggestion;
+        }
+    }
+
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private final List<Completion> terminals = new ArrayList<>(1);
+        private List<BookSuggestionDto> suggestions = List.of();
+        private List<Completion> top = List.of();
+
+        private Node child(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node childOrCreate(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1,
+                    children.length - insertAt);
+            Node child = new Node();
+            newKeys[insertAt] = key;
+            newChildren[insertAt] = child;
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        private void removeChild(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index < 0) {
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index,
+                    children.length - index - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        private boolean isEmpty() {
+            return terminals.isEmpty() && children.length == 0;
+        }
+
+        private boolean update(Completion changed, boolean increased, int maxSuggestions) {
+            List<Completion> newTop = increased
+                    ? promote(changed, maxSuggestions)
+                    : recompute(maxSuggestions);
+            if (!newTop.contains(changed) && !top.contains(changed)) {
+                return false;
+            }
+            top = newTop;
+            suggestions = top.stream()
+                    .map(c -> c.suggestion)
+                    .toList();
+            return true;
+        }
+
+        private List<Completion> promote(Completion changed, int maxSuggestions) {
+            List<Completion> candidates = new ArrayList<>(top.size() + 1);
+            for (Completion completion : top) {
+                if (completion != changed) {
+                    candidates.add(completion);
+                }
+            }
+            int index = Collections.binarySearch(candidates, changed, BY_WEIGHT);
+            candidates.add(index >= 0 ? index : -index - 1, changed);
+            return List.copyOf(candidates.subList(0, Math.min(maxSuggestions, candidates.size())));
+        }
+
+        private List<Completion> recompute(int maxSuggestions) {
+            Set<Completion> candidates = new LinkedHashSet<>(terminals);
+            for (Node child : children) {
+                candidates.addAll(child.top);
+            }
+            return candidates.stream()
+                    .sorted(BY_WEIGHT)
+                    .limit(maxSuggestions)
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.onlinebookstore.search;
+
+import com.example.onlinebookstore.model.Book;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TrigramIndex implements BookIndex {
+    private static final int GRAM_SIZE = 3;
+    private static final String PADDING = "$$";
+    private final Map<String, Set<Long>> termBooks = new HashMap<>();
+    private final Map<String, Set<String>> gramTerms = new HashMap<>();
+    private final Map<Long, Set<String>> bookTerms = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void index(Book book) {
+        Set<String> terms = new HashSet<>(TextNormalizer.tokenize(book.getTitle()));
+        terms.addAll(TextNormalizer.tokenize(book.getAuthor()));
+        lock.writeLock().lock();
+        try {
+            removeBook(book.getId());
+            for (String term : terms) {
+                termBooks.computeIfAbsent(term, this::addTerm).add(book.getId());
+            }
+            bookTerms.put(book.getId(), terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeBook(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(String query, int limit) {
+        Set<String> tokens = new LinkedHashSet<>(TextNormalizer.tokenize(query));
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> distances = null;
+            for (String token : tokens) {
+                Map<Long, Integer> tokenDistances = match(token);
+                if (distances == null) {
+                    distances = tokenDistances;
+                } else {
+                    distances.keySet().retainAll(tokenDistances.keySet());
+                    distances.replaceAll((id, distance) -> distance + tokenDistances.get(id));
+                }
+                if (distances.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return distances.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Integer>comparingByValue()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Integer> match(String token) {
+        int maxDistance = maxDistance(token.length());
+        List<String> grams = grams(token);
+        int threshold = Math.max(1, grams.size() - (GRAM_SIZE + 1) * maxDistance);
+        List<Set<String>> postingLists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            postingLists.add(gramTerms.getOrDefault(gram, Set.of()));
+        }
+        postingLists.sort(Comparator.comparingInt(Set::size));
+        Set<String> candidates = new HashSet<>();
+        for (int i = 0; i <= grams.size() - threshold; i++) {
+            candidates.addAll(postingLists.get(i));
+        }
+        Map<Long, Integer> distances = new HashMap<>();
+        for (String candidate : candidates) {
+            if (Math.abs(candidate.length() - token.length()) > maxDistance
+                    || sharedGrams(candidate, postingLists) < threshold) {
+                continue;
+            }
+            int distance = distance(token, candidate, maxDistance);
+            if (distance <= maxDistance) {
+                for (Long id : termBooks.get(candidate)) {
+                    distances.merge(id, distance, Math::min);
+                }
+            }
+        }
+        return distances;
+    }
+
+    private Set<Long> addTerm(String term) {
+        for (String gram : grams(term)) {
+            gramTerms.computeIfAbsent(gram, g -> new HashSet<>()).add(term);
+        }
+        return new HashSet<>();
+    }
+
+    private void removeBook(Long id) {
+        Set<String> terms = bookTerms.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Set<Long> books = termBooks.get(term);
+            books.remove(id);
+            if (!books.isEmpty()) {
+                continue;
+            }
+            termBooks.remove(term);
+            for (String gram : grams(term)) {
+                Set<String> gramTermSet = gramTerms.get(gram);
+                gramTermSet.remove(term);
+                if (gramTermSet.isEmpty()) {
+                    gramTerms.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static int sharedGrams(String candidate, List<Set<String>> postingLists) {
+        int shared = 0;
+        for (Set<String> postingList : postingLists) {
+            if (postingList.contains(candidate)) {
+                shared++;
+            }
+        }
+        return shared;
+    }
+
+    private static List<String> grams(String term) {
+        String padded = PADDING + term + PADDING;
+        List<String> grams = new ArrayList<>(padded.length() - GRAM_SIZE + 1);
+        for (int i = 0; i + GRAM_SIZE <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    private static int maxDistance(int length) {
+        if (length <= 3) {
+            return 0;
+        }
+        return length <= 7 ? 1 : 2;
+    }
+
+    private static int distance(String source, String target, int maxDistance) {
+        int[] beforePrevious = new int[target.length() + 1];
+        int[] previous = new int[target.length() + 1];
+        int[] current = new int[target.length() + 1];
+        for (int j = 0; j <= target.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= source.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= target.length(); j++) {
+                int cost = source.charAt(i - 1) == target.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1),
+                        previous[j - 1] + cost);
+                if (i > 1 && j > 1 && source.charAt(i - 1) == target.charAt(j - 2)
+                        && source.charAt(i - 2) == target.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], beforePrevious[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] swap = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[target.length()];
+    }
+}
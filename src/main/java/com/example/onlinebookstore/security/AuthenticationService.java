@@ -1,7 +1,12 @@
 package com.example.onlinebookstore.security;
 
+import com.example.onlinebookstore.dto.user.RefreshTokenRequestDto;
 import com.example.onlinebookstore.dto.user.UserLoginRequestDto;
 import com.example.onlinebookstore.dto.user.UserLoginResponseDto;
+import com.example.onlinebookstore.model.User;
+import com.example.onlinebookstore.repository.user.UserRepository;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -13,12 +18,45 @@ import org.springframework.stereotype.Service;
 public class AuthenticationService {
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final RefreshTokenService refreshTokenService;
+    private final LoginThrottle loginThrottle;
+    private final LoginExecutor loginExecutor;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserRepository userRepository;
 
-    public UserLoginResponseDto authenticate(UserLoginRequestDto requestDto) {
-        final Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(requestDto.email(), requestDto.password())
+    public UserLoginResponseDto authenticate(UserLoginRequestDto requestDto, String clientIp) {
+        loginThrottle.acquire(requestDto.email(), clientIp);
+        final Authentication authentication = loginExecutor.execute(
+                () -> authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
+                        requestDto.email(), requestDto.password()))
         );
-        String token = jwtUtil.generateToken(authentication.getName());
-        return new UserLoginResponseDto(token);
+        return createResponse((User) authentication.getPrincipal());
+    }
+
+    @Transactional
+    public UserLoginResponseDto refresh(RefreshTokenRequestDto requestDto) {
+        return createResponse(refreshTokenService.consume(requestDto.refreshToken()));
+    }
+
+    public void logout(JwtClaims claims, RefreshTokenRequestDto requestDto) {
+        if (claims != null) {
+            tokenRevocationService.revokeToken(claims);
+        }
+        if (requestDto != null) {
+            refreshTokenService.revoke(requestDto.refreshToken());
+        }
+    }
+
+    public void revokeAll(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new EntityNotFoundException("Can't find the user by id " + userId);
+        }
+        refreshTokenService.revokeAll(userId);
+        tokenRevocationService.revokeAll(userId);
+    }
+
+    private UserLoginResponseDto createResponse(User user) {
+        String token = jwtUtil.generateToken(UserPrincipal.of(user));
+        return new UserLoginResponseDto(token, refreshTokenService.issue(user));
     }
 }
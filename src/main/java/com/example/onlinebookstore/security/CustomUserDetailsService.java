@@ -1,7 +1,10 @@
 package com.example.onlinebookstore.security;
 
+import com.example.onlinebookstore.cache.BoundedCache;
+import com.example.onlinebookstore.model.User;
 import com.example.onlinebookstore.repository.user.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
+import java.util.Locale;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -12,11 +15,14 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
     private final UserRepository userRepository;
+    private final BoundedCache<String, User> userDetailsCache;
 
     @Override
     public UserDetails loadUserByUsername(String username)
             throws UsernameNotFoundException {
-        return userRepository.findByEmail(username).orElseThrow(
-                () -> new EntityNotFoundException("Wrong password or username " + username));
+        String key = username.toLowerCase(Locale.ROOT);
+        return userDetailsCache.get(key, email -> userRepository.findByEmail(email)
+                .orElseThrow(() ->
+                        new EntityNotFoundException("Wrong password or username " + email)));
     }
 }
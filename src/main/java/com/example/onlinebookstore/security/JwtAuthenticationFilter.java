@@ -1,15 +1,16 @@
 package com.example.onlinebookstore.security;
 
+import com.example.onlinebookstore.model.User;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -21,6 +22,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final int BEARER_SUBSTRING_POSITION = 7;
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+
+    @Value("${jwt.strict-mode:false}")
+    private boolean strictMode;
 
     @Override
     protected void doFilterInternal(
@@ -30,20 +35,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         String token = getToken(request);
 
-        if (token != null && jwtUtil.isValidToken(token)) {
-            String username = jwtUtil.getUserName(token);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            Authentication authentication =
+        if (token != null) {
+            JwtClaims claims = jwtUtil.parseToken(token);
+            if (tokenRevocationService.isRevoked(claims)) {
+                throw new JwtException("Expired or invalid JWT token");
+            }
+            UserPrincipal principal = strictMode || !claims.hasPrincipal()
+                    ? loadPrincipal(claims.subject())
+                    : claims.toPrincipal();
+            UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(
-                            userDetails,
+                            principal,
                             null,
-                            userDetails.getAuthorities()
+                            principal.getAuthorities()
                     );
+            authentication.setDetails(claims);
             SecurityContextHolder.getContext().setAuthentication(authentication);
         }
         filterChain.doFilter(request, response);
     }
 
+    private UserPrincipal loadPrincipal(String username) {
+        User user = (User) userDetailsService.loadUserByUsername(username);
+        return UserPrincipal.of(user);
+    }
+
     private String getToken(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer")) {
@@ -0,0 +1,23 @@
+package com.example.onlinebookstore.security;
+
+import java.util.Set;
+
+public record JwtClaims(
+        String id,
+        String subject,
+        Long userId,
+        Set<String> roles,
+        long issuedAt,
+        long expiresAt) {
+    public boolean isExpired(long now) {
+        return expiresAt <= now;
+    }
+
+    public boolean hasPrincipal() {
+        return userId != null && roles != null;
+    }
+
+    public UserPrincipal toPrincipal() {
+        return new UserPrincipal(userId, subject, roles);
+    }
+}
@@ -1,60 +1,124 @@
 package com.example.onlinebookstore.security;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.util.Collection;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 public class JwtUtil {
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLES_CLAIM = "roles";
+    private static final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    private Key secret;
+    private final Key secret;
+    private final JwtParser jwtParser;
+    private final int cacheMaxSize;
+    private final Map<String, JwtClaims> verifiedTokens = new ConcurrentHashMap<>();
 
-    public JwtUtil(@Value("${jwt.secret}") String secretString) {
+    public JwtUtil(@Value("${jwt.secret}") String secretString,
+                   @Value("${jwt.cache.max-size:10000}") int cacheMaxSize) {
         secret = Keys.hmacShaKeyFor(secretString.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(secret)
+                .build();
+        this.cacheMaxSize = cacheMaxSize;
     }
 
-    public String generateToken(String email) {
+    public String generateToken(UserPrincipal principal) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
-                .setSubject(email)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
+                .setId(UUID.randomUUID().toString())
+                .setSubject(principal.getEmail())
+                .claim(USER_ID_CLAIM, principal.getId())
+                .claim(ROLES_CLAIM, principal.getRoles())
+                .claim(ISSUED_AT_MILLIS_CLAIM, now)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiration))
                 .signWith(secret)
                 .compact();
     }
 
-    public boolean isValidToken(String token) {
+    public JwtClaims parseToken(String token) {
+        String key = TokenHasher.sha256(token);
+        JwtClaims cached = verifiedTokens.get(key);
+        long now = System.currentTimeMillis();
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return cached;
+            }
+            verifiedTokens.remove(key, cached);
+        }
+        JwtClaims claims = verify(token, now);
+        if (cacheMaxSize > 0) {
+            if (verifiedTokens.size() >= cacheMaxSize) {
+                evict(now);
+            }
+            verifiedTokens.put(key, claims);
+        }
+        return claims;
+    }
+
+    private JwtClaims verify(String token, long now) {
         try {
-            Jws<Claims> claimsJws = Jwts.parserBuilder()
-                    .setSigningKey(secret)
-                    .build()
-                    .parseClaimsJws(token);
-            return !claimsJws.getBody().getExpiration().before(new Date());
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            Date expirationDate = claims.getExpiration();
+            if (expirationDate == null || expirationDate.getTime() <= now) {
+                throw new JwtException("Expired or invalid JWT token");
+            }
+            return new JwtClaims(
+                    claims.getId(),
+                    claims.getSubject(),
+                    claims.get(USER_ID_CLAIM, Long.class),
+                    getRoles(claims),
+                    getIssuedAt(claims),
+                    expirationDate.getTime());
         } catch (JwtException | IllegalArgumentException e) {
             throw new JwtException("Expired or invalid JWT token");
         }
     }
 
-    public String getUserName(String token) {
-        return getClaimsFromToken(token, Claims::getSubject);
+    private long getIssuedAt(Claims claims) {
+        Long issuedAtMillis = claims.get(ISSUED_AT_MILLIS_CLAIM, Long.class);
+        if (issuedAtMillis != null) {
+            return issuedAtMillis;
+        }
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt == null ? 0L : issuedAt.getTime();
     }
 
-    private <T> T getClaimsFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = Jwts.parserBuilder()
-                .setSigningKey(secret)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claimsResolver.apply(claims);
+    private Set<String> getRoles(Claims claims) {
+        Object roles = claims.get(ROLES_CLAIM);
+        if (!(roles instanceof Collection<?> roleNames)) {
+            return null;
+        }
+        return roleNames.stream()
+                .map(String::valueOf)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private void evict(long now) {
+        verifiedTokens.values().removeIf(claims -> claims.isExpired(now));
+        Iterator<String> keys = verifiedTokens.keySet().iterator();
+        while (verifiedTokens.size() >= cacheMaxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
     }
 }
@@ -0,0 +1,88 @@
+package com.example.onlinebookstore.security;
+
+import com.example.onlinebookstore.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LoginExecutor {
+    private static final String REJECTION_MESSAGE = "Too many login attempts, try again later";
+    private final ThreadPoolExecutor executor;
+    private final long timeout;
+    private final Timer verificationTimer;
+    private final Counter queueRejections;
+    private final Counter timeoutRejections;
+
+    public LoginExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${security.login-executor.threads}") int threads,
+            @Value("${security.login-executor.queue-capacity}") int queueCapacity,
+            @Value("${security.login-executor.timeout}") long timeout) {
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("login-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeout = timeout;
+        Gauge.builder("auth.login.queue.depth", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        verificationTimer = Timer.builder("auth.login.verification")
+                .register(meterRegistry);
+        queueRejections = Counter.builder("auth.login.rejections")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        timeoutRejections = Counter.builder("auth.login.rejections")
+                .tag("reason", "timeout")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Supplier<T> verification) {
+        Callable<T> task = () -> verificationTimer.record(verification);
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            queueRejections.increment();
+            throw new TooManyRequestsException(REJECTION_MESSAGE);
+        }
+        try {
+            return future.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Can't verify the credentials", e.getCause());
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timeoutRejections.increment();
+            throw new TooManyRequestsException(REJECTION_MESSAGE);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Credentials verification was interrupted", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
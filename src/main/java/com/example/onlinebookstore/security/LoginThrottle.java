@@ -0,0 +1,92 @@
+package com.example.onlinebookstore.security;
+
+import com.example.onlinebookstore.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LoginThrottle {
+    private static final String ACCOUNT_PREFIX = "account:";
+    private static final String IP_PREFIX = "ip:";
+    private static final long SWEEP_INTERVAL = 1000L;
+    private static final String REJECTION_MESSAGE = "Too many login attempts, try again later";
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong();
+    private final int accountBurst;
+    private final long accountInterval;
+    private final int ipBurst;
+    private final long ipInterval;
+    private final int maxBuckets;
+    private final Counter accountRejections;
+    private final Counter ipRejections;
+
+    public LoginThrottle(
+            MeterRegistry meterRegistry,
+            @Value("${security.login-throttle.account-burst}") int accountBurst,
+            @Value("${security.login-throttle.account-interval}") long accountInterval,
+            @Value("${security.login-throttle.ip-burst}") int ipBurst,
+            @Value("${security.login-throttle.ip-interval}") long ipInterval,
+            @Value("${security.login-throttle.max-buckets}") int maxBuckets) {
+        this.accountBurst = accountBurst;
+        this.accountInterval = accountInterval;
+        this.ipBurst = ipBurst;
+        this.ipInterval = ipInterval;
+        this.maxBuckets = maxBuckets;
+        accountRejections = Counter.builder("auth.login.rejections")
+                .tag("reason", "account")
+                .register(meterRegistry);
+        ipRejections = Counter.builder("auth.login.rejections")
+                .tag("reason", "ip")
+                .register(meterRegistry);
+    }
+
+    public void acquire(String email, String clientIp) {
+        long now = System.currentTimeMillis();
+        sweep(now);
+        if (!tryAcquire(ACCOUNT_PREFIX + email.toLowerCase(Locale.ROOT),
+                accountBurst, accountInterval, now)) {
+            accountRejections.increment();
+            throw new TooManyRequestsException(REJECTION_MESSAGE);
+        }
+        if (!tryAcquire(IP_PREFIX + clientIp, ipBurst, ipInterval, now)) {
+            ipRejections.increment();
+            throw new TooManyRequestsException(REJECTION_MESSAGE);
+        }
+    }
+
+    private boolean tryAcquire(String key, int burst, long interval, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            AtomicLong created = new AtomicLong(now);
+            bucket = buckets.putIfAbsent(key, created);
+            if (bucket == null) {
+                bucket = created;
+            }
+        }
+        while (true) {
+            long arrival = bucket.get();
+            long nextArrival = Math.max(arrival, now) + interval;
+            if (nextArrival - now > burst * interval) {
+                return false;
+            }
+            if (bucket.compareAndSet(arrival, nextArrival)) {
+                return true;
+            }
+        }
+    }
+
+    private void sweep(long now) {
+        long sweepAt = nextSweep.get();
+        if (buckets.size() < maxBuckets || now < sweepAt
+                || !nextSweep.compareAndSet(sweepAt, now + SWEEP_INTERVAL)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> bucket.get() <= now);
+    }
+}
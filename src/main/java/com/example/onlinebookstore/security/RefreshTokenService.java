@@ -0,0 +1,69 @@
+package com.example.onlinebookstore.security;
+
+import com.example.onlinebookstore.model.RefreshToken;
+import com.example.onlinebookstore.model.User;
+import com.example.onlinebookstore.repository.refreshtoken.RefreshTokenRepository;
+import jakarta.transaction.Transactional;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+
+@RequiredArgsConstructor
+@Service
+public class RefreshTokenService {
+    private static final int TOKEN_BYTES = 32;
+    private static final String INVALID_TOKEN_MESSAGE = "Expired or invalid refresh token";
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${jwt.refresh-expiration}")
+    private Long refreshExpiration;
+
+    @Transactional
+    public String issue(User user) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setUser(user);
+        refreshToken.setTokenHash(TokenHasher.sha256(token));
+        refreshToken.setExpiresAt(LocalDateTime.now().plus(refreshExpiration, ChronoUnit.MILLIS));
+        refreshTokenRepository.save(refreshToken);
+        return token;
+    }
+
+    @Transactional
+    public User consume(String token) {
+        RefreshToken refreshToken = refreshTokenRepository
+                .findByTokenHash(TokenHasher.sha256(token))
+                .orElseThrow(() -> new BadCredentialsException(INVALID_TOKEN_MESSAGE));
+        if (refreshTokenRepository.deleteUsedToken(refreshToken.getId()) == 0
+                || refreshToken.getExpiresAt().isBefore(LocalDateTime.now())
+                || !refreshToken.getUser().isEnabled()) {
+            throw new BadCredentialsException(INVALID_TOKEN_MESSAGE);
+        }
+        return refreshToken.getUser();
+    }
+
+    @Transactional
+    public void revoke(String token) {
+        refreshTokenRepository.deleteByTokenHash(TokenHasher.sha256(token));
+    }
+
+    @Transactional
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.deleteAllByUserId(userId);
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${jwt.refresh-cleanup-interval}")
+    public void deleteExpired() {
+        refreshTokenRepository.deleteAllExpired(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.onlinebookstore.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public final class TokenHasher {
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private TokenHasher() {
+    }
+
+    public static String sha256(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance(DIGEST_ALGORITHM)
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Can't find digest algorithm " + DIGEST_ALGORITHM, e);
+        }
+    }
+}
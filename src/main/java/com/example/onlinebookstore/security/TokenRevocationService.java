@@ -0,0 +1,149 @@
+package com.example.onlinebookstore.security;
+
+import com.example.onlinebookstore.lib.BloomFilter;
+import com.example.onlinebookstore.model.TokenRevocation;
+import com.example.onlinebookstore.repository.tokenrevocation.TokenRevocationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@RequiredArgsConstructor
+@Service
+public class TokenRevocationService {
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final long USER_SEED = 0x9E3779B97F4A7C15L;
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final Object lock = new Object();
+    private volatile Snapshot snapshot;
+
+    @Value("${jwt.expiration}")
+    private Long expiration;
+
+    @Value("${jwt.revocation.expected-size}")
+    private int expectedSize;
+
+    public boolean isRevoked(JwtClaims claims) {
+        Snapshot current = snapshot;
+        String tokenId = claims.id();
+        if (tokenId != null && current.filter.mightContain(hash(tokenId))
+                && current.tokenIds.contains(tokenId)) {
+            return true;
+        }
+        Long userId = claims.userId();
+        if (userId == null || !current.filter.mightContain(hash(userId))) {
+            return false;
+        }
+        Long revokedAt = current.userEpochs.get(userId);
+        return revokedAt != null && claims.issuedAt() <= revokedAt;
+    }
+
+    public void revokeToken(JwtClaims claims) {
+        if (claims.id() == null) {
+            return;
+        }
+        TokenRevocation revocation = new TokenRevocation();
+        revocation.setTokenId(claims.id());
+        revocation.setUserId(claims.userId());
+        revocation.setRevokedAt(LocalDateTime.now());
+        revocation.setExpiresAt(toDateTime(claims.expiresAt()));
+        tokenRevocationRepository.save(revocation);
+        synchronized (lock) {
+            snapshot.addToken(claims.id());
+        }
+    }
+
+    public void revokeAll(Long userId) {
+        long now = System.currentTimeMillis();
+        TokenRevocation revocation = new TokenRevocation();
+        revocation.setUserId(userId);
+        revocation.setRevokedAt(toDateTime(now));
+        revocation.setExpiresAt(toDateTime(now + expiration));
+        tokenRevocationRepository.save(revocation);
+        synchronized (lock) {
+            snapshot.addUser(userId, now);
+        }
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval}")
+    public void reload() {
+        synchronized (lock) {
+            List<TokenRevocation> revocations =
+                    tokenRevocationRepository.findAllByExpiresAtAfter(LocalDateTime.now());
+            Snapshot reloaded = new Snapshot(Math.max(expectedSize, revocations.size() * 2));
+            for (TokenRevocation revocation : revocations) {
+                if (revocation.getTokenId() != null) {
+                    reloaded.addToken(revocation.getTokenId());
+                } else if (revocation.getUserId() != null) {
+                    reloaded.addUser(revocation.getUserId(), toMillis(revocation.getRevokedAt()));
+                }
+            }
+            snapshot = reloaded;
+        }
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${jwt.refresh-cleanup-interval}")
+    public void deleteExpired() {
+        tokenRevocationRepository.deleteAllExpired(LocalDateTime.now());
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static long hash(String tokenId) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < tokenId.length(); i++) {
+            hash ^= tokenId.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long hash(long userId) {
+        return mix(userId ^ USER_SEED);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private static final class Snapshot {
+        private final BloomFilter filter;
+        private final Set<String> tokenIds = ConcurrentHashMap.newKeySet();
+        private final ConcurrentMap<Long, Long> userEpochs = new ConcurrentHashMap<>();
+
+        private Snapshot(int expectedInsertions) {
+            filter = new BloomFilter(expectedInsertions, FALSE_POSITIVE_RATE);
+        }
+
+        private void addToken(String tokenId) {
+            tokenIds.add(tokenId);
+            filter.put(hash(tokenId));
+        }
+
+        private void addUser(Long userId, long revokedAt) {
+            userEpochs.merge(userId, revokedAt, Math::max);
+            filter.put(hash(userId));
+        }
+    }
+}
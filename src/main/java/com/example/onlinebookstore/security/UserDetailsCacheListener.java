@@ -0,0 +1,28 @@
+package com.example.onlinebookstore.security;
+
+import com.example.onlinebookstore.cache.BoundedCache;
+import com.example.onlinebookstore.lib.AfterCommit;
+import com.example.onlinebookstore.model.Role;
+import com.example.onlinebookstore.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import java.util.Locale;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class UserDetailsCacheListener {
+    private final BoundedCache<String, User> userDetailsCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof User user) {
+            String key = user.getEmail().toLowerCase(Locale.ROOT);
+            AfterCommit.run(() -> userDetailsCache.invalidate(key));
+        } else if (entity instanceof Role) {
+            AfterCommit.run(userDetailsCache::invalidateAll);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.onlinebookstore.security;
+
+import com.example.onlinebookstore.model.User;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+@Getter
+@ToString
+@EqualsAndHashCode(of = "id")
+public final class UserPrincipal implements UserDetails {
+    private static final String ROLE_PREFIX = "ROLE_";
+    private final Long id;
+    private final String email;
+    private final Set<String> roles;
+    @ToString.Exclude
+    private final List<GrantedAuthority> authorities;
+
+    public UserPrincipal(Long id, String email, Collection<String> roles) {
+        this.id = id;
+        this.email = email;
+        this.roles = Set.copyOf(roles);
+        this.authorities = this.roles.stream()
+                .map(r -> (GrantedAuthority) new SimpleGrantedAuthority(ROLE_PREFIX + r))
+                .toList();
+    }
+
+    public static UserPrincipal of(User user) {
+        return new UserPrincipal(
+                user.getId(),
+                user.getEmail(),
+                user.getRoles().stream()
+                        .map(r -> r.getName().name())
+                        .toList());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
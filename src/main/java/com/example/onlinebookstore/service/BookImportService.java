@@ -0,0 +1,10 @@
+package com.example.onlinebookstore.service;
+
+import com.example.onlinebookstore.dto.book.BookImportResultDto;
+import java.io.Reader;
+
+public interface BookImportService {
+    BookImportResultDto importCsv(Reader reader);
+
+    BookImportResultDto importNdjson(Reader reader);
+}
@@ -1,9 +1,16 @@
 package com.example.onlinebookstore.service;
 
+import com.example.onlinebookstore.dto.book.BookBatchDto;
 import com.example.onlinebookstore.dto.book.BookDto;
 import com.example.onlinebookstore.dto.book.BookDtoWithoutCategoryIds;
+import com.example.onlinebookstore.dto.book.BookFacetsDto;
+import com.example.onlinebookstore.dto.book.BookRepriceRequestDto;
+import com.example.onlinebookstore.dto.book.BookRepriceResultDto;
 import com.example.onlinebookstore.dto.book.BookSearchParameters;
+import com.example.onlinebookstore.dto.book.BookSuggestionDto;
 import com.example.onlinebookstore.dto.book.CreateBookRequestDto;
+import com.example.onlinebookstore.dto.book.PatchBookRequestDto;
+import com.example.onlinebookstore.repository.keyset.KeysetPage;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 
@@ -12,13 +19,35 @@ public interface BookService {
 
     List<BookDto> findAll(Pageable pageable);
 
+    KeysetPage<BookDto> findAllAfter(String cursor, Pageable pageable);
+
+    long countAll(boolean exact);
+
     BookDto findById(Long id);
 
+    BookBatchDto findAllByIds(List<Long> ids);
+
     void deleteByID(Long id);
 
-    BookDto update(Long id, CreateBookRequestDto createBookRequestDto);
+    BookDto update(Long id, CreateBookRequestDto createBookRequestDto, Long expectedVersion);
+
+    BookDto patch(Long id, PatchBookRequestDto patchBookRequestDto, Long expectedVersion);
+
+    BookRepriceResultDto reprice(BookSearchParameters searchParameters,
+                                 BookRepriceRequestDto repriceRequestDto);
 
     List<BookDto> search(BookSearchParameters searchParameters, Pageable pageable);
 
+    long countSearch(BookSearchParameters searchParameters, boolean exact);
+
+    BookFacetsDto facets(BookSearchParameters searchParameters);
+
     List<BookDtoWithoutCategoryIds> findAllByCategoriesId(Long id, Pageable pageable);
+
+    KeysetPage<BookDtoWithoutCategoryIds> findAllByCategoriesIdAfter(Long id, String cursor,
+                                                                     Pageable pageable);
+
+    long countByCategoriesId(Long id, boolean exact);
+
+    List<BookSuggestionDto> suggest(String prefix, int limit);
 }
@@ -2,6 +2,7 @@ package com.example.onlinebookstore.service;
 
 import com.example.onlinebookstore.dto.category.CategoryDto;
 import com.example.onlinebookstore.dto.category.CreateCategoryRequestDto;
+import com.example.onlinebookstore.dto.category.PatchCategoryRequestDto;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 
@@ -12,7 +13,9 @@ public interface CategoryService {
 
     CategoryDto save(CreateCategoryRequestDto categoryDto);
 
-    CategoryDto update(Long id, CreateCategoryRequestDto categoryDto);
+    CategoryDto update(Long id, CreateCategoryRequestDto categoryDto, Long expectedVersion);
+
+    CategoryDto patch(Long id, PatchCategoryRequestDto categoryDto, Long expectedVersion);
 
     void deleteById(Long id);
 }
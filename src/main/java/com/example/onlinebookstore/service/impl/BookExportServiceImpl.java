@@ -0,0 +1,93 @@
+package com.example.onlinebookstore.service.impl;
+
+import com.example.onlinebookstore.dto.book.BookDto;
+import com.example.onlinebookstore.lib.CsvWriter;
+import com.example.onlinebookstore.repository.book.BookRepository;
+import com.example.onlinebookstore.service.BookExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class BookExportServiceImpl implements BookExportService {
+    private static final List<String> CSV_HEADER = List.of("id", "title", "author", "isbn",
+            "price", "description", "coverImage", "categoryIds");
+    private static final String CATEGORY_SEPARATOR = ";";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private final BookRepository bookRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void exportNdjson(OutputStream outputStream) throws IOException {
+        Writer writer = getWriter(outputStream);
+        ObjectWriter bookWriter = objectMapper.writerFor(BookDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null);
+        export(book -> {
+            bookWriter.writeValue(generator, book);
+            generator.writeRaw('\n');
+        });
+        generator.flush();
+    }
+
+    @Override
+    public void exportCsv(OutputStream outputStream) throws IOException {
+        Writer writer = getWriter(outputStream);
+        CsvWriter csvWriter = new CsvWriter(writer);
+        csvWriter.write(CSV_HEADER);
+        export(book -> csvWriter.write(toCsvRow(book)));
+        writer.flush();
+    }
+
+    private Writer getWriter(OutputStream outputStream) {
+        return new BufferedWriter(
+                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    private void export(BookWriter bookWriter) throws IOException {
+        try {
+            bookRepository.streamAll(book -> {
+                try {
+                    bookWriter.write(book);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private List<String> toCsvRow(BookDto book) {
+        return List.of(
+                String.valueOf(book.getId()),
+                book.getTitle(),
+                book.getAuthor(),
+                book.getIsbn(),
+                book.getPrice().toPlainString(),
+                book.getDescription() == null ? "" : book.getDescription(),
+                book.getCoverImage() == null ? "" : book.getCoverImage(),
+                book.getCategoryIds().stream()
+                        .map(String::valueOf)
+                        .collect(Collectors.joining(CATEGORY_SEPARATOR)));
+    }
+
+    private interface BookWriter {
+        void write(BookDto book) throws IOException;
+    }
+}
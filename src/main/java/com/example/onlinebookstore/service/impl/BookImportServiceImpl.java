@@ -0,0 +1,337 @@
+package com.example.onlinebookstore.service.impl;
+
+import com.example.onlinebookstore.cache.BoundedCache;
+import com.example.onlinebookstore.catalog.CatalogGeneration;
+import com.example.onlinebookstore.catalog.CatalogSnapshots;
+import com.example.onlinebookstore.dto.book.BookDto;
+import com.example.onlinebookstore.dto.book.BookImportErrorDto;
+import com.example.onlinebookstore.dto.book.BookImportResultDto;
+import com.example.onlinebookstore.dto.book.CreateBookRequestDto;
+import com.example.onlinebookstore.exception.BookImportException;
+import com.example.onlinebookstore.lib.CsvReader;
+import com.example.onlinebookstore.mapper.BookMapper;
+import com.example.onlinebookstore.model.Book;
+import com.example.onlinebookstore.repository.book.BookRepository;
+import com.example.onlinebookstore.repository.category.CategoryRepository;
+import com.example.onlinebookstore.search.BookIndexer;
+import com.example.onlinebookstore.search.CatalogTotals;
+import com.example.onlinebookstore.service.BookImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class BookImportServiceImpl implements BookImportService {
+    private static final List<String> REQUIRED_COLUMNS =
+            List.of("title", "author", "isbn", "price");
+    private static final String CATEGORY_SEPARATOR = ";";
+    private final BookRepository bookRepository;
+    private final CategoryRepository categoryRepository;
+    private final BookMapper bookMapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final BookIndexer bookIndexer;
+    private final CatalogTotals catalogTotals;
+    private final BoundedCache<Long, BookDto> bookCache;
+    private final BoundedCache<String, List<BookDto>> searchResultsCache;
+    private final CatalogSnapshots catalogSnapshots;
+    private final CatalogGeneration catalogGeneration;
+    private final Counter insertedRows;
+    private final Counter updatedRows;
+    private final Counter failedRows;
+    private final int batchSize;
+    private final int maxErrors;
+
+    public BookImportServiceImpl(
+            BookRepository bookRepository,
+            CategoryRepository categoryRepository,
+            BookMapper bookMapper,
+            Validator validator,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            BookIndexer bookIndexer,
+            CatalogTotals catalogTotals,
+            BoundedCache<Long, BookDto> bookCache,
+            BoundedCache<String, List<BookDto>> searchResultsCache,
+            CatalogSnapshots catalogSnapshots,
+            CatalogGeneration catalogGeneration,
+            MeterRegistry meterRegistry,
+            @Value("${catalog.import.batch-size}") int batchSize,
+            @Value("${catalog.import.max-errors}") int maxErrors) {
+        this.bookRepository = bookRepository;
+        this.categoryRepository = categoryRepository;
+        this.bookMapper = bookMapper;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bookIndexer = bookIndexer;
+        this.catalogTotals = catalogTotals;
+        this.bookCache = bookCache;
+        this.searchResultsCache = searchResultsCache;
+        this.catalogSnapshots = catalogSnapshots;
+        this.catalogGeneration = catalogGeneration;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+        insertedRows = Counter.builder("books.import.rows")
+                .tag("result", "inserted")
+                .register(meterRegistry);
+        updatedRows = Counter.builder("books.import.rows")
+                .tag("result", "updated")
+                .register(meterRegistry);
+        failedRows = Counter.builder("books.import.rows")
+                .tag("result", "failed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public BookImportResultDto importCsv(Reader reader) {
+        CsvReader csvReader = new CsvReader(reader);
+        Map<String, Integer> columns = readHeader(csvReader);
+        ImportRun run = new ImportRun();
+        try {
+            List<String> fields;
+            long row = 0;
+            while ((fields = csvReader.next()) != null) {
+                row++;
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;
+                }
+                CreateBookRequestDto requestDto;
+                try {
+                    requestDto = toRequestDto(fields, columns);
+                } catch (IllegalArgumentException e) {
+                    run.fail(row, null, e.getMessage());
+                    continue;
+                }
+                run.add(row, requestDto);
+            }
+            return run.finish();
+        } catch (IOException e) {
+            run.refreshCatalog();
+            throw new BookImportException("Can't read the import: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public BookImportResultDto importNdjson(Reader reader) {
+        BufferedReader lines = new BufferedReader(reader);
+        ImportRun run = new ImportRun();
+        try {
+            String line;
+            long row = 0;
+            while ((line = lines.readLine()) != null) {
+                row++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                CreateBookRequestDto requestDto;
+                try {
+                    requestDto = objectMapper.readValue(line, CreateBookRequestDto.class);
+                } catch (JsonProcessingException e) {
+                    run.fail(row, null, "Malformed JSON: " + e.getOriginalMessage());
+                    continue;
+                }
+                run.add(row, requestDto);
+            }
+            return run.finish();
+        } catch (IOException e) {
+            run.refreshCatalog();
+            throw new BookImportException("Can't read the import: " + e.getMessage(), e);
+        }
+    }
+
+    private Map<String, Integer> readHeader(CsvReader csvReader) {
+        List<String> header;
+        try {
+            header = csvReader.next();
+        } catch (IOException e) {
+            throw new BookImportException("Can't read the import: " + e.getMessage(), e);
+        }
+        if (header == null) {
+            throw new BookImportException("The import has no CSV header");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new BookImportException("The CSV header has no " + column + " column");
+            }
+        }
+        return columns;
+    }
+
+    private CreateBookRequestDto toRequestDto(List<String> fields, Map<String, Integer> columns) {
+        CreateBookRequestDto requestDto = new CreateBookRequestDto()
+                .setTitle(field(fields, columns, "title"))
+                .setAuthor(field(fields, columns, "author"))
+                .setIsbn(field(fields, columns, "isbn"))
+                .setDescription(field(fields, columns, "description"))
+                .setCoverImage(field(fields, columns, "coverImage"));
+        String price = field(fields, columns, "price");
+        String categoryIds = field(fields, columns, "categoryIds");
+        try {
+            requestDto.setPrice(price == null ? null : new BigDecimal(price));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("price must be a number");
+        }
+        if (categoryIds != null) {
+            try {
+                for (String categoryId : categoryIds.split(CATEGORY_SEPARATOR)) {
+                    if (!categoryId.isBlank()) {
+                        requestDto.getCategoryIds().add(Long.valueOf(categoryId.trim()));
+                    }
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("categoryIds must be numbers");
+            }
+        }
+        return requestDto;
+    }
+
+    private String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private final class ImportRun {
+        private final Set<Long> categoryIds = new HashSet<>(categoryRepository.findAllIds());
+        private final Map<String, PendingBook> pending = new LinkedHashMap<>();
+        private final List<BookImportErrorDto> errors = new ArrayList<>();
+        private long processed;
+        private long inserted;
+        private long updated;
+        private long failed;
+
+        private void add(long row, CreateBookRequestDto requestDto) {
+            processed++;
+            if (requestDto == null) {
+                reject(row, null, "The row is empty");
+                return;
+            }
+            if (requestDto.getCategoryIds() == null) {
+                requestDto.setCategoryIds(new HashSet<>());
+            }
+            String error = validate(requestDto);
+            if (error != null) {
+                reject(row, requestDto.getIsbn(), error);
+                return;
+            }
+            PendingBook replaced = pending.put(requestDto.getIsbn(),
+                    new PendingBook(row, bookMapper.toModel(requestDto)));
+            if (replaced != null) {
+                updated++;
+                updatedRows.increment();
+            }
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void fail(long row, String isbn, String error) {
+            processed++;
+            reject(row, isbn, error);
+        }
+
+        private BookImportResultDto finish() {
+            flush();
+            refreshCatalog();
+            return new BookImportResultDto(processed, inserted, updated, failed,
+                    List.copyOf(errors));
+        }
+
+        private void refreshCatalog() {
+            searchResultsCache.invalidateAll();
+            catalogSnapshots.rebuild();
+            catalogGeneration.increment();
+        }
+
+        private String validate(CreateBookRequestDto requestDto) {
+            String violations = validator.validate(requestDto).stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            if (!violations.isEmpty()) {
+                return violations;
+            }
+            List<Long> unknownCategoryIds = requestDto.getCategoryIds().stream()
+                    .filter(id -> !categoryIds.contains(id))
+                    .toList();
+            return unknownCategoryIds.isEmpty()
+                    ? null
+                    : "categoryIds contain unknown categories " + unknownCategoryIds;
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<PendingBook> batch = new ArrayList<>(pending.values());
+            pending.clear();
+            try {
+                write(batch);
+            } catch (DataAccessException e) {
+                for (PendingBook pendingBook : batch) {
+                    try {
+                        write(List.of(pendingBook));
+                    } catch (DataAccessException rowException) {
+                        reject(pendingBook.row(), pendingBook.book().getIsbn(),
+                                rowException.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+        }
+
+        private void write(List<PendingBook> batch) {
+            List<Book> books = batch.stream().map(PendingBook::book).toList();
+            Integer batchInserted = transactionTemplate.execute(
+                    status -> bookRepository.upsertAllByIsbn(books));
+            int insertedBooks = batchInserted == null ? 0 : batchInserted;
+            inserted += insertedBooks;
+            updated += books.size() - insertedBooks;
+            insertedRows.increment(insertedBooks);
+            updatedRows.increment(books.size() - insertedBooks);
+            for (Book book : books) {
+                bookIndexer.index(book);
+                catalogTotals.index(book);
+                bookCache.invalidate(book.getId());
+            }
+        }
+
+        private void reject(long row, String isbn, String error) {
+            failed++;
+            failedRows.increment();
+            if (errors.size() < maxErrors) {
+                errors.add(new BookImportErrorDto(row, isbn, error));
+            }
+        }
+    }
+
+    private record PendingBook(long row, Book book) {
+    }
+}
@@ -1,73 +1,460 @@
 package com.example.onlinebookstore.service.impl;
 
+import com.example.onlinebookstore.cache.BoundedCache;
+import com.example.onlinebookstore.catalog.CatalogGeneration;
+import com.example.onlinebookstore.catalog.CatalogSnapshot;
+import com.example.onlinebookstore.catalog.CatalogSnapshots;
+import com.example.onlinebookstore.catalog.CategoryRegistry;
+import com.example.onlinebookstore.dto.book.BookBatchDto;
 import com.example.onlinebookstore.dto.book.BookDto;
 import com.example.onlinebookstore.dto.book.BookDtoWithoutCategoryIds;
+import com.example.onlinebookstore.dto.book.BookFacetsDto;
+import com.example.onlinebookstore.dto.book.BookRepriceRequestDto;
+import com.example.onlinebookstore.dto.book.BookRepriceResultDto;
 import com.example.onlinebookstore.dto.book.BookSearchParameters;
+import com.example.onlinebookstore.dto.book.BookSuggestionDto;
 import com.example.onlinebookstore.dto.book.CreateBookRequestDto;
+import com.example.onlinebookstore.dto.book.PatchBookRequestDto;
+import com.example.onlinebookstore.exception.BatchSizeExceededException;
+import com.example.onlinebookstore.exception.BookRepriceException;
+import com.example.onlinebookstore.lib.AfterCommit;
 import com.example.onlinebookstore.mapper.BookMapper;
 import com.example.onlinebookstore.model.Book;
+import com.example.onlinebookstore.model.Category;
 import com.example.onlinebookstore.repository.book.BookRepository;
 import com.example.onlinebookstore.repository.book.BookSpecificationBuilder;
+import com.example.onlinebookstore.repository.keyset.KeysetCursor;
+import com.example.onlinebookstore.repository.keyset.KeysetPage;
+import com.example.onlinebookstore.search.BookFilterIndex;
+import com.example.onlinebookstore.search.BookIndexer;
+import com.example.onlinebookstore.search.BookSearchEngine;
+import com.example.onlinebookstore.search.CatalogTotals;
+import com.example.onlinebookstore.search.SuggestionIndex;
 import com.example.onlinebookstore.service.BookService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
 @RequiredArgsConstructor
 @Service
 public class BookServiceImpl implements BookService {
+    private static final Set<String> KEYSET_PROPERTIES = Set.of("id", "title", "author", "price");
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
     private final BookSpecificationBuilder bookSpecificationBuilder;
+    private final BookSearchEngine bookSearchEngine;
+    private final BookIndexer bookIndexer;
+    private final SuggestionIndex suggestionIndex;
+    private final CatalogTotals catalogTotals;
+    private final BoundedCache<String, Long> searchTotalsCache;
+    private final BoundedCache<Long, BookDto> bookCache;
+    private final BoundedCache<String, List<BookDto>> searchResultsCache;
+    private final CatalogSnapshots catalogSnapshots;
+    private final BookFilterIndex bookFilterIndex;
+    private final CatalogGeneration catalogGeneration;
+    private final CategoryRegistry categoryRegistry;
+
+    @Value("${search.max-results}")
+    private int maxSearchResults;
+
+    @Value("${catalog.batch.max-ids}")
+    private int maxBatchIds;
+
+    @Value("${search.facets.max-values}")
+    private int maxFacetValues;
+
+    @Value("${search.facets.max-ids}")
+    private int maxFacetIds;
+
+    @Value("${catalog.reprice.max-books}")
+    private int maxRepriceBooks;
 
     @Override
     public BookDto save(CreateBookRequestDto requestDto) {
+        checkCategories(requestDto.getCategoryIds());
         Book book = bookMapper.toModel(requestDto);
-        return bookMapper.toDto(bookRepository.save(book));
+        return refreshCatalog(bookRepository.save(book));
     }
 
     @Override
     @Transactional
     public List<BookDto> findAll(Pageable pageable) {
-        return bookRepository.findAll(pageable).stream()
-                .map(bookMapper::toDto).toList();
+        if (catalogSnapshots.isEnabled() && CatalogSnapshot.supports(pageable.getSort())) {
+            return catalogSnapshots.current().findAll(pageable);
+        }
+        return bookRepository.findDtoSlice(pageable).getContent();
+    }
+
+    @Override
+    public KeysetPage<BookDto> findAllAfter(String cursor, Pageable pageable) {
+        KeysetCursor keysetCursor = KeysetCursor.of(cursor, pageable.getSort(), KEYSET_PROPERTIES);
+        int size = pageable.getPageSize();
+        return KeysetPage.of(bookRepository.findDtosAfter(keysetCursor, size + 1),
+                size, keysetCursor, BookDto::getId);
+    }
+
+    @Override
+    public long countAll(boolean exact) {
+        return exact ? bookRepository.count() : catalogTotals.total();
     }
 
     @Override
     public BookDto findById(Long id) {
-        Book book = bookRepository.findById(id).orElseThrow(
-                () -> new EntityNotFoundException("Can't find the book by id " + id));
-        return bookMapper.toDto(book);
+        if (catalogSnapshots.isEnabled()) {
+            return catalogSnapshots.current().findById(id).orElseThrow(
+                    () -> new EntityNotFoundException("Can't find the book by id " + id));
+        }
+        return bookCache.get(id, key -> bookMapper.toDto(bookRepository.findById(key)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Can't find the book by id " + key))));
+    }
+
+    @Override
+    public BookBatchDto findAllByIds(List<Long> requestedIds) {
+        List<Long> ids = requestedIds.stream().filter(Objects::nonNull).toList();
+        if (ids.size() > maxBatchIds) {
+            throw new BatchSizeExceededException(
+                    "Can't load more than " + maxBatchIds + " books at once");
+        }
+        Map<Long, BookDto> books = catalogSnapshots.isEnabled()
+                ? findAllInSnapshot(ids)
+                : bookCache.getAll(ids, missing -> bookRepository.findAllByIdIn(missing)
+                        .stream()
+                        .collect(Collectors.toMap(Book::getId, bookMapper::toDto)));
+        List<BookDto> found = new ArrayList<>(ids.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            BookDto book = books.get(id);
+            if (book != null) {
+                found.add(book);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new BookBatchDto(found, missingIds);
     }
 
     @Override
     public void deleteByID(Long id) {
         bookRepository.deleteById(id);
+        bookIndexer.remove(id);
+        catalogTotals.remove(id);
+        bookCache.invalidate(id);
+        searchResultsCache.invalidateAll();
+        catalogSnapshots.remove(id);
+        catalogGeneration.increment();
     }
 
     @Override
-    public BookDto update(Long id, CreateBookRequestDto requestDto) {
+    public BookDto update(Long id, CreateBookRequestDto requestDto, Long expectedVersion) {
+        Long currentVersion = bookRepository.findVersionById(id).orElse(null);
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new ObjectOptimisticLockingFailureException(Book.class, id);
+        }
+        checkCategories(requestDto.getCategoryIds());
         Book book = bookMapper.toModel(requestDto);
-        book.setId(id);
-        return bookMapper.toDto(bookRepository.save(book));
+        if (currentVersion != null) {
+            book.setId(id);
+            book.setVersion(currentVersion);
+        }
+        return refreshCatalog(bookRepository.save(book));
+    }
+
+    @Override
+    @Transactional
+    public BookDto patch(Long id, PatchBookRequestDto requestDto, Long expectedVersion) {
+        Book book = bookRepository.findById(id).orElseThrow(
+                () -> new EntityNotFoundException("Can't find the book by id " + id));
+        if (expectedVersion != null && !expectedVersion.equals(book.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Book.class, id);
+        }
+        bookMapper.updateModel(requestDto, book);
+        if (requestDto.getCategoryIds() != null) {
+            checkCategories(requestDto.getCategoryIds());
+            updateCategories(book, requestDto.getCategoryIds());
+        }
+        return refreshCatalog(bookRepository.saveAndFlush(book));
+    }
+
+    @Override
+    @Transactional
+    public BookRepriceResultDto reprice(BookSearchParameters searchParameters,
+                                        BookRepriceRequestDto requestDto) {
+        if (!hasFilters(searchParameters) && !StringUtils.hasText(searchParameters.q())) {
+            throw new BookRepriceException(
+                    "Can't reprice books without a category or search filter");
+        }
+        boolean percent = requestDto.adjustment() == BookRepriceRequestDto.Adjustment.PERCENT;
+        BigDecimal factor = percent
+                ? BigDecimal.ONE.add(requestDto.value().movePointLeft(2))
+                : BigDecimal.ONE;
+        BigDecimal amount = percent ? BigDecimal.ZERO : requestDto.value();
+        return searchParameters.hasTextFilter() || StringUtils.hasText(searchParameters.q())
+                ? repriceByIds(searchParameters, factor, amount)
+                : repriceMatching(searchParameters, factor, amount);
     }
 
     @Override
     public List<BookDto> search(BookSearchParameters searchParameters, Pageable pageable) {
+        return searchResultsCache.get(getResultsKey(searchParameters, pageable),
+                key -> findSearchResults(searchParameters, pageable));
+    }
+
+    @Override
+    public long countSearch(BookSearchParameters searchParameters, boolean exact) {
+        if (exact) {
+            return countSearch(searchParameters);
+        }
+        return searchTotalsCache.get(searchParameters.toCacheKey(),
+                key -> countSearch(searchParameters));
+    }
+
+    private long countSearch(BookSearchParameters searchParameters) {
         Specification<Book> specification = bookSpecificationBuilder.build(searchParameters);
-        return bookRepository.findAll(specification, pageable).stream()
-                .map(bookMapper::toDto)
-                .toList();
+        if (!StringUtils.hasText(searchParameters.q())) {
+            return bookRepository.count(specification);
+        }
+        List<Long> matchingIds = List.copyOf(bookSearchEngine.matches(searchParameters.q()));
+        if (matchingIds.isEmpty() || !hasFilters(searchParameters)) {
+            return matchingIds.size();
+        }
+        long count = 0;
+        for (int from = 0; from < matchingIds.size(); from += maxBatchIds) {
+            List<Long> batch = matchingIds.subList(from,
+                    Math.min(from + maxBatchIds, matchingIds.size()));
+            count += bookRepository.count(specification.and(
+                    (root, query, criteriaBuilder) -> root.get("id").in(batch)));
+        }
+        return count;
+    }
+
+    @Override
+    public BookFacetsDto facets(BookSearchParameters searchParameters) {
+        if (!searchParameters.hasTextFilter() && !StringUtils.hasText(searchParameters.q())) {
+            return bookFilterIndex.facets(searchParameters.categoryIds(),
+                    searchParameters.matchAllCategories(), searchParameters.priceMin(),
+                    searchParameters.priceMax(), maxFacetValues);
+        }
+        Specification<Book> specification = bookSpecificationBuilder.build(searchParameters);
+        if (!StringUtils.hasText(searchParameters.q())) {
+            return bookFilterIndex.facets(
+                    bookRepository.findIds(specification, maxFacetIds), maxFacetValues);
+        }
+        List<Long> rankedIds = bookSearchEngine.search(searchParameters.q(), maxSearchResults);
+        if (rankedIds.isEmpty() || !hasFilters(searchParameters)) {
+            return bookFilterIndex.facets(rankedIds, maxFacetValues);
+        }
+        return bookFilterIndex.facets(bookRepository.findIds(specification.and(
+                        (root, query, criteriaBuilder) -> root.get("id").in(rankedIds)),
+                maxFacetIds), maxFacetValues);
     }
 
     @Override
     public List<BookDtoWithoutCategoryIds> findAllByCategoriesId(Long id, Pageable pageable) {
-        return bookRepository.findAllByCategoriesId(id, pageable).stream()
-                .map(bookMapper::toDtoWithoutCategories)
+        if (catalogSnapshots.isEnabled() && CatalogSnapshot.supports(pageable.getSort())) {
+            return catalogSnapshots.current().findAllByCategoryId(id, pageable).stream()
+                    .map(bookMapper::toDtoWithoutCategories)
+                    .toList();
+        }
+        return bookRepository.findAllByCategoriesId(id, pageable);
+    }
+
+    @Override
+    public KeysetPage<BookDtoWithoutCategoryIds> findAllByCategoriesIdAfter(
+            Long id, String cursor, Pageable pageable) {
+        KeysetCursor keysetCursor = KeysetCursor.of(cursor, pageable.getSort(), KEYSET_PROPERTIES);
+        int size = pageable.getPageSize();
+        return KeysetPage.of(bookRepository.findAllByCategoriesIdAfter(
+                        id, keysetCursor, size + 1),
+                size, keysetCursor, BookDtoWithoutCategoryIds::getId);
+    }
+
+    @Override
+    public long countByCategoriesId(Long id, boolean exact) {
+        return exact ? bookRepository.countByCategoriesId(id) : catalogTotals.total(id);
+    }
+
+    @Override
+    public List<BookSuggestionDto> suggest(String prefix, int limit) {
+        return suggestionIndex.suggest(prefix, limit);
+    }
+
+    private BookRepriceResultDto repriceByIds(BookSearchParameters searchParameters,
+                                              BigDecimal factor, BigDecimal amount) {
+        List<Long> ids = findRepriceIds(searchParameters);
+        if (ids.size() > maxRepriceBooks) {
+            throw new BatchSizeExceededException(
+                    "Can't reprice more than " + maxRepriceBooks + " books at once");
+        }
+        if (ids.isEmpty()) {
+            return new BookRepriceResultDto(0);
+        }
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += maxBatchIds) {
+            updated += bookRepository.updatePrices(
+                    ids.subList(from, Math.min(from + maxBatchIds, ids.size())), factor, amount);
+        }
+        AfterCommit.run(() -> {
+            bookIndexer.reindex(ids);
+            refreshRepricedBooks();
+        });
+        return new BookRepriceResultDto(updated);
+    }
+
+    private BookRepriceResultDto repriceMatching(BookSearchParameters searchParameters,
+                                                 BigDecimal factor, BigDecimal amount) {
+        int updated = bookRepository.updatePricesMatching(searchParameters, factor, amount);
+        if (updated == 0) {
+            return new BookRepriceResultDto(0);
+        }
+        AfterCommit.run(() -> {
+            if (searchParameters.categoryIds().isEmpty()) {
+                bookIndexer.rebuild();
+            } else {
+                bookIndexer.reindexCategories(searchParameters.categoryIds());
+            }
+            refreshRepricedBooks();
+        });
+        return new BookRepriceResultDto(updated);
+    }
+
+    private List<Long> findRepriceIds(BookSearchParameters searchParameters) {
+        Specification<Book> specification = bookSpecificationBuilder.build(searchParameters);
+        if (!StringUtils.hasText(searchParameters.q())) {
+            return bookRepository.findIds(specification, maxRepriceBooks + 1);
+        }
+        List<Long> matchingIds = bookSearchEngine.search(searchParameters.q(),
+                maxRepriceBooks + 1);
+        if (matchingIds.isEmpty() || !hasFilters(searchParameters)) {
+            return matchingIds;
+        }
+        List<Long> ids = new ArrayList<>();
+        for (int from = 0; from < matchingIds.size(); from += maxBatchIds) {
+            List<Long> batch = matchingIds.subList(from,
+                    Math.min(from + maxBatchIds, matchingIds.size()));
+            ids.addAll(bookRepository.findIds(specification.and(
+                    (root, query, criteriaBuilder) -> root.get("id").in(batch)), batch.size()));
+        }
+        return ids;
+    }
+
+    private void checkCategories(Set<Long> categoryIds) {
+        if (!categoryRegistry.isEnabled() || categoryIds == null) {
+            return;
+        }
+        List<Long> missingIds = categoryRegistry.current().findMissingIds(categoryIds);
+        if (!missingIds.isEmpty()) {
+            throw new EntityNotFoundException("Can't find categories by ids " + missingIds);
+        }
+    }
+
+    private void updateCategories(Book book, Set<Long> categoryIds) {
+        Set<Category> categories = book.getCategories();
+        categories.removeIf(category -> !categoryIds.contains(category.getId()));
+        Set<Long> currentIds = categories.stream()
+                .map(Category::getId)
+                .collect(Collectors.toSet());
+        categoryIds.stream()
+                .filter(categoryId -> !currentIds.contains(categoryId))
+                .map(Category::new)
+                .forEach(categories::add);
+    }
+
+    private BookDto refreshCatalog(Book savedBook) {
+        BookDto bookDto = bookMapper.toDto(savedBook);
+        AfterCommit.run(() -> {
+            bookIndexer.index(savedBook);
+            catalogTotals.index(savedBook);
+            bookCache.invalidate(savedBook.getId());
+            searchResultsCache.invalidateAll();
+            catalogSnapshots.put(bookDto);
+            catalogGeneration.increment();
+        });
+        return bookDto;
+    }
+
+    private void refreshRepricedBooks() {
+        bookCache.invalidateAll();
+        searchResultsCache.invalidateAll();
+        catalogSnapshots.rebuild();
+        catalogGeneration.increment();
+    }
+
+    private List<BookDto> findSearchResults(BookSearchParameters searchParameters,
+                                            Pageable pageable) {
+        Specification<Book> specification = bookSpecificationBuilder.build(searchParameters);
+        if (StringUtils.hasText(searchParameters.q())) {
+            return searchByText(searchParameters, specification, pageable);
+        }
+        return bookRepository.findSlice(specification, pageable).stream()
+                .map(bookMapper::toDto)
+                .toList();
+    }
+
+    private List<BookDto> searchByText(BookSearchParameters searchParameters,
+                                       Specification<Book> specification,
+                                       Pageable pageable) {
+        List<Long> rankedIds = bookSearchEngine.search(searchParameters.q(), maxSearchResults);
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+        List<Long> matchingIds = rankedIds;
+        if (hasFilters(searchParameters)) {
+            Set<Long> filteredIds = new HashSet<>(bookRepository.findIds(specification.and(
+                    (root, query, criteriaBuilder) -> root.get("id").in(rankedIds)),
+                    rankedIds.size()));
+            matchingIds = rankedIds.stream()
+                    .filter(filteredIds::contains)
+                    .toList();
+        }
+        int from = (int) Math.min(pageable.getOffset(), matchingIds.size());
+        int to = Math.min(from + pageable.getPageSize(), matchingIds.size());
+        if (from == to) {
+            return List.of();
+        }
+        List<Long> pageIds = matchingIds.subList(from, to);
+        Map<Long, Integer> ranks = new HashMap<>();
+        for (int i = 0; i < pageIds.size(); i++) {
+            ranks.put(pageIds.get(i), i);
+        }
+        Comparator<Book> byRank = Comparator.comparing(book -> ranks.get(book.getId()));
+        return bookRepository.findAllByIdIn(pageIds).stream()
+                .sorted(byRank)
+                .map(bookMapper::toDto)
                 .toList();
     }
+
+    private Map<Long, BookDto> findAllInSnapshot(List<Long> ids) {
+        CatalogSnapshot snapshot = catalogSnapshots.current();
+        Map<Long, BookDto> books = new HashMap<>();
+        ids.forEach(id -> snapshot.findById(id).ifPresent(book -> books.put(id, book)));
+        return books;
+    }
+
+    private String getResultsKey(BookSearchParameters searchParameters, Pageable pageable) {
+        return String.join("|", searchParameters.toCacheKey(),
+                String.valueOf(pageable.getPageNumber()),
+                String.valueOf(pageable.getPageSize()),
+                pageable.getSort().toString());
+    }
+
+    private boolean hasFilters(BookSearchParameters searchParameters) {
+        return searchParameters.hasTextFilter() || searchParameters.hasCategoryOrPriceFilter();
+    }
 }
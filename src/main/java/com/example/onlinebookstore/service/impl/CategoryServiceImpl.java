@@ -1,15 +1,28 @@
 package com.example.onlinebookstore.service.impl;
 
+import com.example.onlinebookstore.cache.BoundedCache;
+import com.example.onlinebookstore.catalog.CatalogGeneration;
+import com.example.onlinebookstore.catalog.CatalogSnapshots;
+import com.example.onlinebookstore.catalog.CategoryRegistry;
+import com.example.onlinebookstore.catalog.CategoryTable;
+import com.example.onlinebookstore.dto.book.BookDto;
 import com.example.onlinebookstore.dto.category.CategoryDto;
 import com.example.onlinebookstore.dto.category.CreateCategoryRequestDto;
+import com.example.onlinebookstore.dto.category.PatchCategoryRequestDto;
+import com.example.onlinebookstore.lib.AfterCommit;
 import com.example.onlinebookstore.mapper.CategoryMapper;
 import com.example.onlinebookstore.model.Category;
+import com.example.onlinebookstore.repository.book.BookRepository;
 import com.example.onlinebookstore.repository.category.CategoryRepository;
+import com.example.onlinebookstore.search.BookIndexer;
+import com.example.onlinebookstore.search.CatalogTotals;
 import com.example.onlinebookstore.service.CategoryService;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 @RequiredArgsConstructor
@@ -17,9 +30,20 @@ import org.springframework.stereotype.Service;
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final BookRepository bookRepository;
+    private final BookIndexer bookIndexer;
+    private final CatalogTotals catalogTotals;
+    private final BoundedCache<Long, BookDto> bookCache;
+    private final BoundedCache<String, List<BookDto>> searchResultsCache;
+    private final CatalogSnapshots catalogSnapshots;
+    private final CatalogGeneration catalogGeneration;
+    private final CategoryRegistry categoryRegistry;
 
     @Override
     public List<CategoryDto> findAll(Pageable pageable) {
+        if (categoryRegistry.isEnabled() && CategoryTable.supports(pageable.getSort())) {
+            return categoryRegistry.current().findAll(pageable);
+        }
         return categoryRepository.findAll(pageable).stream()
                 .map(categoryMapper::toDto)
                 .toList();
@@ -27,6 +51,10 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     public CategoryDto getById(Long id) {
+        if (categoryRegistry.isEnabled()) {
+            return categoryRegistry.current().findById(id).orElseThrow(
+                    () -> new EntityNotFoundException("Can't find category by id " + id));
+        }
         return categoryRepository.findById(id).map(categoryMapper::toDto).orElseThrow(
                 () -> new EntityNotFoundException("Can't find category by id " + id)
         );
@@ -34,19 +62,58 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     public CategoryDto save(CreateCategoryRequestDto categoryDto) {
-        return categoryMapper.toDto(
-                categoryRepository.save(categoryMapper.toModel(categoryDto)));
+        return refreshRegistry(categoryRepository.save(categoryMapper.toModel(categoryDto)));
     }
 
     @Override
-    public CategoryDto update(Long id, CreateCategoryRequestDto categoryDto) {
+    public CategoryDto update(Long id, CreateCategoryRequestDto categoryDto,
+                              Long expectedVersion) {
+        Long currentVersion = categoryRepository.findVersionById(id).orElse(null);
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new ObjectOptimisticLockingFailureException(Category.class, id);
+        }
         Category category = categoryMapper.toModel(categoryDto);
-        category.setId(id);
-        return categoryMapper.toDto(categoryRepository.save(category));
+        if (currentVersion != null) {
+            category.setId(id);
+            category.setVersion(currentVersion);
+        }
+        return refreshRegistry(categoryRepository.save(category));
+    }
+
+    @Override
+    @Transactional
+    public CategoryDto patch(Long id, PatchCategoryRequestDto categoryDto, Long expectedVersion) {
+        Category category = categoryRepository.findById(id).orElseThrow(
+                () -> new EntityNotFoundException("Can't find category by id " + id));
+        if (expectedVersion != null && expectedVersion != category.getVersion()) {
+            throw new ObjectOptimisticLockingFailureException(Category.class, id);
+        }
+        categoryMapper.updateModel(categoryDto, category);
+        return refreshRegistry(categoryRepository.saveAndFlush(category));
     }
 
     @Override
     public void deleteById(Long id) {
+        List<Long> bookIds = bookRepository.findAllIdsByCategoryId(id);
         categoryRepository.deleteById(id);
+        if (!bookIds.isEmpty()) {
+            bookRepository.incrementVersions(bookIds);
+            bookIndexer.reindex(bookIds);
+        }
+        bookIds.forEach(bookCache::invalidate);
+        searchResultsCache.invalidateAll();
+        catalogTotals.removeCategory(id);
+        catalogSnapshots.removeCategory(id);
+        categoryRegistry.remove(id);
+        catalogGeneration.increment();
+    }
+
+    private CategoryDto refreshRegistry(Category category) {
+        CategoryDto categoryDto = categoryMapper.toDto(category);
+        AfterCommit.run(() -> {
+            categoryRegistry.put(categoryDto);
+            catalogGeneration.increment();
+        });
+        return categoryDto;
     }
 }
@@ -3,16 +3,19 @@ package com.example.onlinebookstore.service.impl;
 import com.example.onlinebookstore.dto.order.CreateOrderRequestDto;
 import com.example.onlinebookstore.dto.order.OrderDto;
 import com.example.onlinebookstore.dto.orderitem.OrderItemDto;
+import com.example.onlinebookstore.lib.AfterCommit;
 import com.example.onlinebookstore.mapper.OrderItemMapper;
 import com.example.onlinebookstore.mapper.OrderMapper;
 import com.example.onlinebookstore.model.CartItem;
 import com.example.onlinebookstore.model.Order;
 import com.example.onlinebookstore.model.OrderItem;
 import com.example.onlinebookstore.model.ShoppingCart;
-import com.example.onlinebookstore.model.User;
+import com.example.onlinebookstore.repository.keyset.KeysetCursor;
+import com.example.onlinebookstore.repository.keyset.KeysetPage;
 import com.example.onlinebookstore.repository.order.OrderRepository;
 import com.example.onlinebookstore.repository.orderitem.OrderItemRepository;
 import com.example.onlinebookstore.repository.shoppingcart.ShoppingCartRepository;
+import com.example.onlinebookstore.search.SuggestionIndex;
 import com.example.onlinebookstore.service.OrderService;
 import com.example.onlinebookstore.service.ShoppingCartService;
 import jakarta.persistence.EntityNotFoundException;
@@ -20,6 +23,7 @@ import jakarta.transaction.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -27,26 +31,28 @@ import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
+    private static final Set<String> KEYSET_PROPERTIES = Set.of("id", "orderDate");
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final ShoppingCartRepository shoppingCartRepository;
     private final ShoppingCartService shoppingCartService;
     private final OrderMapper orderMapper;
     private final OrderItemMapper orderItemMapper;
+    private final SuggestionIndex suggestionIndex;
 
     @Transactional
     @Override
-    public OrderDto createOrder(User user, CreateOrderRequestDto requestDto) {
+    public OrderDto createOrder(Long userId, CreateOrderRequestDto requestDto) {
         Order order = new Order();
-        ShoppingCart shoppingCart = shoppingCartRepository.findById(user.getId())
+        ShoppingCart shoppingCart = shoppingCartRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException(
-                        "Can't find the shopping cart by id " + user.getId()));
+                        "Can't find the shopping cart by id " + userId));
         List<OrderItem> orderItems = shoppingCart.getCartItems()
                 .stream()
                 .map(c -> convertToOrderItem(c, order))
                 .toList();
         order.setOrderItems(orderItems);
-        order.setUser(user);
+        order.setUser(shoppingCart.getUser());
         order.setOrderDate(LocalDateTime.now());
         order.setStatus(Order.Status.PENDING);
 
@@ -56,6 +62,8 @@ public class OrderServiceImpl implements OrderService {
         order.setTotal(total);
         order.setShippingAddress(requestDto.getShippingAddress());
         Order saved = orderRepository.save(order);
+        AfterCommit.run(() -> orderItems.forEach(o ->
+                suggestionIndex.recordSale(o.getBook().getId(), o.getQuantity())));
         shoppingCartService.cleanShoppingCart(shoppingCart.getId());
         return orderMapper.toDto(saved);
     }
@@ -63,9 +71,17 @@ public class OrderServiceImpl implements OrderService {
     @Transactional
     @Override
     public List<OrderDto> getAll(Long userId, Pageable pageable) {
-        return orderRepository.findAllByUserId(userId, pageable).stream()
-                .map(orderMapper::toDto)
-                .toList();
+        return orderRepository.findDtosByUserId(userId, pageable);
+    }
+
+    @Transactional
+    @Override
+    public KeysetPage<OrderDto> getAllAfter(Long userId, String cursor, Pageable pageable) {
+        KeysetCursor keysetCursor = KeysetCursor.of(cursor, pageable.getSort(), KEYSET_PROPERTIES);
+        int size = pageable.getPageSize();
+        return KeysetPage.of(orderRepository.findDtosByUserIdAfter(
+                        userId, keysetCursor, size + 1),
+                size, keysetCursor, OrderDto::getId);
     }
 
     @Override
@@ -1,5 +1,6 @@
 package com.example.onlinebookstore.service.impl;
 
+import com.example.onlinebookstore.cache.BoundedCache;
 import com.example.onlinebookstore.dto.user.UserRegistrationRequestDto;
 import com.example.onlinebookstore.dto.user.UserResponseDto;
 import com.example.onlinebookstore.exception.RegistrationException;
@@ -25,6 +26,7 @@ public class UserServiceImpl implements UserService {
     private final PasswordEncoder passwordEncoder;
     private final RoleRepository roleRepository;
     private final ShoppingCartRepository shoppingCartRepository;
+    private final BoundedCache<String, User> userDetailsCache;
 
     @Override
     @Transactional
@@ -41,6 +43,7 @@ public class UserServiceImpl implements UserService {
         user.setShippingAddress(requestDto.getShippingAddress());
         user.setRoles(Set.of(roleRepository.findRoleByName(Role.RoleName.USER)));
         user = userRepository.save(user);
+        userDetailsCache.invalidate(user.getEmail());
 
         ShoppingCart shoppingCart = new ShoppingCart();
         shoppingCart.setUser(user);
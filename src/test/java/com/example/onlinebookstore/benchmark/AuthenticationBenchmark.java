@@ -0,0 +1,76 @@
+package com.example.onlinebookstore.benchmark;
+
+import com.example.onlinebookstore.security.JwtUtil;
+import com.example.onlinebookstore.security.TokenHasher;
+import com.example.onlinebookstore.security.UserPrincipal;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class AuthenticationBenchmark {
+    private static final String SECRET = "This.Is-My!TESTSecret?1237894654231321564";
+    private static final String PASSWORD = "123456";
+    private PasswordEncoder passwordEncoder;
+    private JwtUtil jwtUtil;
+    private UserPrincipal principal;
+    private String passwordHash;
+    private String refreshToken;
+    private String refreshTokenHash;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new BCryptPasswordEncoder();
+        jwtUtil = new JwtUtil(SECRET, 0);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 300000L);
+        principal = new UserPrincipal(1L, "user@gmail.com", Set.of("USER"));
+        passwordHash = passwordEncoder.encode(PASSWORD);
+        refreshToken = UUID.randomUUID().toString();
+        refreshTokenHash = TokenHasher.sha256(refreshToken);
+    }
+
+    @Benchmark
+    public void login(Blackhole blackhole) {
+        blackhole.consume(passwordEncoder.matches(PASSWORD, passwordHash));
+        blackhole.consume(jwtUtil.generateToken(principal));
+        blackhole.consume(TokenHasher.sha256(UUID.randomUUID().toString()));
+    }
+
+    @Benchmark
+    public void refresh(Blackhole blackhole) {
+        blackhole.consume(TokenHasher.sha256(refreshToken).equals(refreshTokenHash));
+        blackhole.consume(jwtUtil.generateToken(principal));
+        blackhole.consume(TokenHasher.sha256(UUID.randomUUID().toString()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AuthenticationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
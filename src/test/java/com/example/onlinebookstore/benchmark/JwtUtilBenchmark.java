@@ -0,0 +1,87 @@
+package com.example.onlinebookstore.benchmark;
+
+import com.example.onlinebookstore.security.JwtClaims;
+import com.example.onlinebookstore.security.JwtUtil;
+import com.example.onlinebookstore.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class JwtUtilBenchmark {
+    private static final String SECRET = "This.Is-My!TESTSecret?1237894654231321564";
+    private static final Long EXPIRATION = 300000L;
+    private static final String EMAIL = "user@gmail.com";
+    private Key secret;
+    private JwtUtil cachingJwtUtil;
+    private JwtUtil nonCachingJwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        secret = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        cachingJwtUtil = new JwtUtil(SECRET, 10000);
+        nonCachingJwtUtil = new JwtUtil(SECRET, 0);
+        ReflectionTestUtils.setField(cachingJwtUtil, "expiration", EXPIRATION);
+        ReflectionTestUtils.setField(nonCachingJwtUtil, "expiration", EXPIRATION);
+        token = cachingJwtUtil.generateToken(new UserPrincipal(1L, EMAIL, Set.of("USER")));
+    }
+
+    @Benchmark
+    public void parserPerCall(Blackhole blackhole) {
+        Jws<Claims> claimsJws = Jwts.parserBuilder()
+                .setSigningKey(secret)
+                .build()
+                .parseClaimsJws(token);
+        blackhole.consume(!claimsJws.getBody().getExpiration().before(new Date()));
+        blackhole.consume(Jwts.parserBuilder()
+                .setSigningKey(secret)
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject());
+    }
+
+    @Benchmark
+    public JwtClaims sharedParser() {
+        return nonCachingJwtUtil.parseToken(token);
+    }
+
+    @Benchmark
+    public JwtClaims sharedParserWithCache() {
+        return cachingJwtUtil.parseToken(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtUtilBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
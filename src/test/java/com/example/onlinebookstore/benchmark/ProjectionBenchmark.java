@@ -0,0 +1,205 @@
+package com.example.onlinebookstore.benchmark;
+
+import com.example.onlinebookstore.OnlineBookStoreApplication;
+import com.example.onlinebookstore.mapper.BookMapper;
+import com.example.onlinebookstore.mapper.OrderMapper;
+import com.example.onlinebookstore.model.Book;
+import com.example.onlinebookstore.model.Order;
+import com.example.onlinebookstore.repository.book.BookRepository;
+import com.example.onlinebookstore.repository.order.OrderRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Threads(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ProjectionBenchmark {
+    private static final long CATEGORY_ID = 1L;
+    private static final int PAGE_SIZE = 20;
+    private static final int ORDER_COUNT = 200;
+    private static final int ITEMS_PER_ORDER = 3;
+    private static final String FETCH_BOOKS_BY_IDS = "SELECT DISTINCT b FROM Book b "
+            + "LEFT JOIN FETCH b.categories WHERE b.id IN :ids";
+    private static final String SELECT_ORDERS_BY_USER_ID =
+            "SELECT o FROM Order o WHERE o.user.id = :userId ORDER BY o.id";
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private BookRepository bookRepository;
+    private OrderRepository orderRepository;
+    private BookMapper bookMapper;
+    private OrderMapper orderMapper;
+    private Pageable bookPage;
+    private Pageable orderPage;
+    private long userId;
+
+    @Param({"1000", "10000"})
+    private int catalogSize;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(OnlineBookStoreApplication.class)
+                .properties("server.port=0")
+                .run();
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        bookRepository = context.getBean(BookRepository.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        bookMapper = context.getBean(BookMapper.class);
+        orderMapper = context.getBean(OrderMapper.class);
+        bookPage = PageRequest.of(0, PAGE_SIZE);
+        orderPage = PageRequest.of(0, PAGE_SIZE, Sort.by("id"));
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        userId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users", Long.class);
+        insertCatalog(jdbcTemplate);
+        insertOrders(jdbcTemplate);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void hydratedCategoryPage(Blackhole blackhole) {
+        List<Long> ids = bookRepository.findIds((root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.join("categories").get("id"), CATEGORY_ID), PAGE_SIZE);
+        blackhole.consume(hydrate(entityManager -> fetchBooks(entityManager, ids).stream()
+                .map(bookMapper::toDtoWithoutCategories)
+                .toList()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void projectedCategoryPage(Blackhole blackhole) {
+        blackhole.consume(bookRepository.findAllByCategoriesId(CATEGORY_ID, bookPage));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void hydratedListing(Blackhole blackhole) {
+        List<Long> ids = bookRepository.findIds(Specification.where(null), PAGE_SIZE);
+        blackhole.consume(hydrate(entityManager -> fetchBooks(entityManager, ids).stream()
+                .map(bookMapper::toDto)
+                .toList()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void projectedListing(Blackhole blackhole) {
+        blackhole.consume(bookRepository.findDtoSlice(bookPage).getContent());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void hydratedOrderHistory(Blackhole blackhole) {
+        blackhole.consume(hydrate(entityManager -> entityManager
+                .createQuery(SELECT_ORDERS_BY_USER_ID, Order.class)
+                .setParameter("userId", userId)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList()
+                .stream()
+                .map(orderMapper::toDto)
+                .toList()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void projectedOrderHistory(Blackhole blackhole) {
+        blackhole.consume(orderRepository.findDtosByUserId(userId, orderPage));
+    }
+
+    private <T> T hydrate(Function<EntityManager, T> work) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return work.apply(entityManager);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private List<Book> fetchBooks(EntityManager entityManager, List<Long> ids) {
+        return entityManager.createQuery(FETCH_BOOKS_BY_IDS, Book.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    private void insertCatalog(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("INSERT INTO categories (id, name, description, is_deleted) "
+                + "VALUES (?, 'Category', 'Description', false)", CATEGORY_ID);
+        jdbcTemplate.batchUpdate("INSERT INTO books "
+                        + "(id, title, author, isbn, price, description, is_deleted) "
+                        + "VALUES (?, ?, 'Author', ?, 9.99, 'Description', false)",
+                LongStream.rangeClosed(1, catalogSize)
+                        .mapToObj(id -> new Object[]{id, "Book" + id, "Isbn" + id})
+                        .toList());
+        jdbcTemplate.batchUpdate("INSERT INTO books_categories (book_id, category_id) "
+                        + "VALUES (?, ?)",
+                LongStream.rangeClosed(1, catalogSize)
+                        .mapToObj(id -> new Object[]{id, CATEGORY_ID})
+                        .toList());
+    }
+
+    private void insertOrders(JdbcTemplate jdbcTemplate) {
+        Timestamp orderTime = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate("INSERT INTO orders "
+                        + "(id, user_id, status, total, order_time, shipping_address, is_deleted) "
+                        + "VALUES (?, ?, 'PENDING', 29.97, ?, 'Address', false)",
+                LongStream.rangeClosed(1, ORDER_COUNT)
+                        .mapToObj(id -> new Object[]{id, userId, orderTime})
+                        .toList());
+        jdbcTemplate.batchUpdate("INSERT INTO order_items "
+                        + "(order_id, book_id, quantity, price, is_deleted) "
+                        + "VALUES (?, ?, 1, 9.99, false)",
+                LongStream.rangeClosed(1, ORDER_COUNT)
+                        .boxed()
+                        .flatMap(orderId -> IntStream.range(0, ITEMS_PER_ORDER)
+                                .mapToObj(item -> new Object[]{orderId,
+                                        (orderId * ITEMS_PER_ORDER + item) % catalogSize + 1}))
+                        .toList());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProjectionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.onlinebookstore.benchmark;
+
+import com.example.onlinebookstore.model.Book;
+import com.example.onlinebookstore.search.TrigramIndex;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@Threads(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TrigramIndexBenchmark {
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+    private static final int LIMIT = 20;
+    private TrigramIndex trigramIndex;
+
+    @Param({"100000", "1000000"})
+    private int catalogSize;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        trigramIndex = new TrigramIndex();
+        for (long id = 1; id <= catalogSize; id++) {
+            trigramIndex.index(new Book()
+                    .setId(id)
+                    .setTitle(randomWord(random) + " " + randomWord(random))
+                    .setAuthor(randomWord(random) + " " + randomWord(random)));
+        }
+        trigramIndex.index(new Book().setId(0L).setTitle("The Hobbit")
+                .setAuthor("J. R. R. Tolkien"));
+    }
+
+    @Benchmark
+    public List<Long> misspelledAuthor() {
+        return trigramIndex.search("tolkein", LIMIT);
+    }
+
+    @Benchmark
+    public List<Long> misspelledTitleAndAuthor() {
+        return trigramIndex.search("hobit tolkein", LIMIT);
+    }
+
+    private static String randomWord(Random random) {
+        int length = 4 + random.nextInt(6);
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        }
+        return word.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TrigramIndexBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
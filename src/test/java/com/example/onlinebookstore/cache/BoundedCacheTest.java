@@ -0,0 +1,215 @@
+package com.example.onlinebookstore.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class BoundedCacheTest {
+    private static final long TTL = 60000L;
+
+    @Test
+    @DisplayName("""
+            Verify get() loads a missing value once and then serves it from the cache
+            """)
+    void get_RepeatedKey_LoadsOnce() {
+        //given
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 10, TTL);
+        AtomicInteger loads = new AtomicInteger();
+
+        //when
+        cache.get("key", k -> "value" + loads.incrementAndGet());
+        String actual = cache.get("key", k -> "value" + loads.incrementAndGet());
+
+        //then
+        assertEquals("value1", actual);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify getAll() loads only the missing keys in one call and caches them
+            """)
+    void getAll_PartiallyCachedKeys_LoadsMissingKeysOnce() {
+        //given
+        BoundedCache<Long, String> cache = new BoundedCache<>("test", 10, TTL);
+        cache.put(1L, "1");
+        List<Set<Long>> loads = new ArrayList<>();
+
+        //when
+        Map<Long, String> actual = cache.getAll(List.of(2L, 1L, 3L, 2L), keys -> {
+            loads.add(Set.copyOf(keys));
+            return Map.of(2L, "2");
+        });
+
+        //then
+        assertEquals(Map.of(1L, "1", 2L, "2"), actual);
+        assertEquals(List.of(Set.of(2L, 3L)), loads);
+        assertEquals("2", cache.getIfPresent(2L));
+        assertNull(cache.getIfPresent(3L));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify concurrent misses for the same key are coalesced into one load
+            """)
+    void get_ConcurrentMisses_LoadsOnce() throws Exception {
+        //given
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 10, TTL);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<String>> results = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < 4; i++) {
+            results.add(executor.submit(() -> cache.get("key", k -> {
+                loads.incrementAndGet();
+                await(release);
+                return "value";
+            })));
+        }
+        Thread.sleep(100);
+        release.countDown();
+        for (Future<String> result : results) {
+            assertEquals("value", result.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        //then
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify the least recently used entry is evicted when the cache is full
+            """)
+    void put_OverMaxSize_EvictsLeastRecentlyUsed() {
+        //given
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 2, TTL);
+        cache.put("first", "1");
+        cache.put("second", "2");
+        cache.getIfPresent("first");
+
+        //when
+        cache.put("third", "3");
+
+        //then
+        assertNull(cache.getIfPresent("second"));
+        assertEquals("1", cache.getIfPresent("first"));
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify frequency admission keeps frequently read entries through a one-off scan
+            """)
+    void get_ScanWithFrequencyAdmission_KeepsHotEntries() {
+        //given
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>("test", 100, TTL, true);
+        for (int i = 0; i < 5; i++) {
+            for (int key = 0; key < 50; key++) {
+                cache.get(key, k -> k);
+            }
+        }
+
+        //when
+        for (int key = 1000; key < 1500; key++) {
+            cache.get(key, k -> k);
+        }
+
+        //then
+        for (int key = 0; key < 50; key++) {
+            assertEquals(key, cache.getIfPresent(key));
+        }
+        assertEquals(100, cache.size());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify invalidateAll() and expired entries are not served
+            """)
+    void getIfPresent_InvalidatedOrExpired_ReturnsNull() {
+        //given
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 10, TTL);
+        BoundedCache<String, String> expiring = new BoundedCache<>("test", 10, 0L);
+        cache.put("key", "value");
+        expiring.put("key", "value");
+
+        //when
+        cache.invalidateAll();
+
+        //then
+        assertNull(cache.getIfPresent("key"));
+        assertNull(expiring.getIfPresent("key"));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify invalidateAll() frees the slots so fresh entries aren't refused admission
+            """)
+    void invalidateAll_HotEntries_AdmitsFreshEntries() {
+        //given
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>("test", 100, TTL, true);
+        for (int i = 0; i < 5; i++) {
+            for (int key = 0; key < 100; key++) {
+                cache.get(key, k -> k);
+            }
+        }
+
+        //when
+        cache.invalidateAll();
+        for (int key = 1000; key < 1099; key++) {
+            cache.put(key, key);
+        }
+
+        //then
+        for (int key = 1000; key < 1099; key++) {
+            assertEquals(key, cache.getIfPresent(key));
+        }
+        assertEquals(99, cache.size());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify a cache split into lock segments keeps every entry up to its total size
+            """)
+    void put_SegmentedCache_KeepsTotalMaxSize() {
+        //given
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>("test", 4096, TTL);
+        for (int key = 0; key < 4096; key++) {
+            cache.put(key, key);
+        }
+
+        //when
+        Integer first = cache.getIfPresent(0);
+        Integer last = cache.getIfPresent(4095);
+        cache.put(4096, 4096);
+
+        //then
+        assertEquals(0, first);
+        assertEquals(4095, last);
+        assertEquals(4096, cache.size());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.onlinebookstore.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class CatalogGenerationTest {
+    @Test
+    @DisplayName("""
+            Verify etag() changes on every write and never repeats across instances
+            """)
+    void etag_WritesAndRestarts_ReturnsFreshTags() {
+        //given
+        CatalogGeneration catalogGeneration = new CatalogGeneration();
+        String initial = catalogGeneration.etag();
+
+        //when
+        catalogGeneration.increment();
+        String afterWrite = catalogGeneration.etag();
+        String restarted = new CatalogGeneration().etag();
+
+        //then
+        assertNotEquals(initial, afterWrite);
+        assertNotEquals(initial, restarted);
+        assertEquals(afterWrite, catalogGeneration.etag());
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.onlinebookstore.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.onlinebookstore.dto.book.BookDto;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+public class CatalogSnapshotTest {
+    private static final Long FANTASY_ID = 1L;
+    private static final Long CLASSICS_ID = 2L;
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = CatalogSnapshot.of(List.of(
+                getBook(3L, "The Hobbit", "12.50", FANTASY_ID),
+                getBook(1L, "Dune", "20.00", CLASSICS_ID),
+                getBook(2L, "Emma", "12.50", FANTASY_ID, CLASSICS_ID)));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify findAll() pages books by the presorted key and then by id
+            """)
+    void findAll_SortedPageable_ReturnsPresortedPage() {
+        //when
+        List<BookDto> byPrice = snapshot.findAll(
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "price")));
+        List<BookDto> byTitle = snapshot.findAll(PageRequest.of(1, 2, Sort.by("title")));
+
+        //then
+        assertEquals(List.of(1L, 2L), byPrice.stream().map(BookDto::getId).toList());
+        assertEquals(List.of(3L), byTitle.stream().map(BookDto::getId).toList());
+        assertTrue(CatalogSnapshot.supports(Sort.by("author")));
+        assertFalse(CatalogSnapshot.supports(Sort.by("isbn")));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify patched snapshots reflect writes and leave the original untouched
+            """)
+    void with_BookAndCategoryChanges_ReturnsPatchedCopy() {
+        //when
+        CatalogSnapshot patched = snapshot.with(getBook(4L, "Beloved", "9.99", FANTASY_ID))
+                .without(3L)
+                .withoutCategory(CLASSICS_ID);
+
+        //then
+        assertEquals(List.of(4L, 2L), patched.findAllByCategoryId(
+                FANTASY_ID, PageRequest.of(0, 10, Sort.by("title")))
+                .stream().map(BookDto::getId).toList());
+        assertTrue(patched.findAllByCategoryId(CLASSICS_ID, PageRequest.of(0, 10)).isEmpty());
+        assertEquals(Set.of(FANTASY_ID), patched.findById(2L).orElseThrow().getCategoryIds());
+        assertEquals(1L, patched.findById(2L).orElseThrow().getVersion());
+        assertEquals(0L, patched.findById(4L).orElseThrow().getVersion());
+        assertTrue(patched.findById(3L).isEmpty());
+        assertEquals(3, snapshot.size());
+        assertSame(patched, patched.without(3L));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify incremental writes keep every presorted order equal to a full rebuild
+            """)
+    void with_IncrementalWrites_MatchesFullRebuild() {
+        //given
+        BookDto renamed = getBook(2L, "Zorba", "5.00", CLASSICS_ID);
+        BookDto added = getBook(5L, "Anna", "12.50", 3L);
+
+        //when
+        CatalogSnapshot patched = snapshot.with(renamed).with(added).without(1L);
+
+        //then
+        CatalogSnapshot rebuilt = CatalogSnapshot.of(List.of(
+                getBook(3L, "The Hobbit", "12.50", FANTASY_ID), renamed, added));
+        for (String property : List.of("id", "title", "author", "price")) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                PageRequest pageable = PageRequest.of(0, 10, Sort.by(direction, property));
+                assertEquals(getIds(rebuilt.findAll(pageable)), getIds(patched.findAll(pageable)));
+                for (Long categoryId : List.of(FANTASY_ID, CLASSICS_ID, 3L)) {
+                    assertEquals(getIds(rebuilt.findAllByCategoryId(categoryId, pageable)),
+                            getIds(patched.findAllByCategoryId(categoryId, pageable)));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("""
+            Verify titles are ordered ignoring case and accents
+            """)
+    void findAll_AccentedTitles_SortsIgnoringCaseAndAccents() {
+        //given
+        CatalogSnapshot accented = CatalogSnapshot.of(List.of(
+                getBook(1L, "emma", "1.00"),
+                getBook(2L, "Éclair", "1.00"),
+                getBook(3L, "Dune", "1.00"),
+                getBook(4L, "Faust", "1.00")));
+
+        //when
+        List<BookDto> actual = accented.findAll(PageRequest.of(0, 10, Sort.by("title")));
+
+        //then
+        assertEquals(List.of(3L, 2L, 1L, 4L), getIds(actual));
+    }
+
+    private static BookDto getBook(Long id, String title, String price, Long... categoryIds) {
+        return new BookDto()
+                .setId(id)
+                .setTitle(title)
+                .setAuthor("Author " + id)
+                .setIsbn("isbn-" + id)
+                .setPrice(new BigDecimal(price))
+                .setCategoryIds(Set.of(categoryIds))
+                .setVersion(0L);
+    }
+
+    private static List<Long> getIds(List<BookDto> books) {
+        return books.stream().map(BookDto::getId).toList();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.onlinebookstore.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.onlinebookstore.dto.category.CategoryDto;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+public class CategoryTableTest {
+    private CategoryTable table;
+
+    @BeforeEach
+    void setUp() {
+        table = CategoryTable.of(List.of(
+                getCategory(3L, "poetry"),
+                getCategory(1L, "Fantasy"),
+                getCategory(2L, "Classics")));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify findAll() pages categories by id or by name in both directions
+            """)
+    void findAll_SortedPageable_ReturnsPresortedPage() {
+        //when
+        List<CategoryDto> byId = table.findAll(PageRequest.of(0, 2));
+        List<CategoryDto> byName = table.findAll(PageRequest.of(0, 2, Sort.by("name")));
+        List<CategoryDto> byNameDesc = table.findAll(
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "name")));
+
+        //then
+        assertEquals(List.of(1L, 2L), byId.stream().map(CategoryDto::getId).toList());
+        assertEquals(List.of(2L, 1L), byName.stream().map(CategoryDto::getId).toList());
+        assertEquals(List.of(2L), byNameDesc.stream().map(CategoryDto::getId).toList());
+        assertTrue(CategoryTable.supports(Sort.by("name")));
+        assertFalse(CategoryTable.supports(Sort.by("description")));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify patched tables reflect writes and leave the original untouched
+            """)
+    void with_CategoryChanges_ReturnsPatchedCopy() {
+        //when
+        CategoryTable patched = table.with(getCategory(4L, "Drama"))
+                .with(getCategory(1L, "Epic fantasy"))
+                .without(3L);
+
+        //then
+        assertEquals("Epic fantasy", patched.findById(1L).orElseThrow().getName());
+        assertEquals(List.of(3L, 5L), patched.findMissingIds(List.of(1L, 3L, 4L, 5L)));
+        assertEquals("Fantasy", table.findById(1L).orElseThrow().getName());
+        assertEquals(3, table.size());
+        assertSame(patched, patched.without(3L));
+    }
+
+    private static CategoryDto getCategory(Long id, String name) {
+        return new CategoryDto()
+                .setId(id)
+                .setName(name)
+                .setDescription("Description " + id);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.onlinebookstore.controller;
+
+import static org.mockito.Mockito.verify;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.onlinebookstore.dto.user.RefreshTokenRequestDto;
+import com.example.onlinebookstore.security.AuthenticationService;
+import com.example.onlinebookstore.security.JwtClaims;
+import com.example.onlinebookstore.security.UserPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class AuthControllerTest {
+    protected static MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @MockBean
+    private AuthenticationService authenticationService;
+
+    @BeforeAll
+    static void beforeAll(@Autowired WebApplicationContext applicationContext) {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(applicationContext)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    @DisplayName("""
+            Verify logout method revokes the access token of the request and its refresh token
+            """)
+    void logout_AuthenticatedWithRefreshToken_RevokesBothTokens() throws Exception {
+        //given
+        UserPrincipal principal = new UserPrincipal(1L, "user@gmail.com", Set.of("USER"));
+        long now = System.currentTimeMillis();
+        JwtClaims claims = new JwtClaims("token-1", principal.getEmail(), principal.getId(),
+                principal.getRoles(), now, now + 300000L);
+        UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(
+                principal, null, principal.getAuthorities());
+        token.setDetails(claims);
+        RefreshTokenRequestDto requestDto = new RefreshTokenRequestDto("refresh-token");
+
+        //when
+        mockMvc.perform(post("/auth/logout")
+                        .with(authentication(token))
+                        .content(objectMapper.writeValueAsString(requestDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+
+        //then
+        verify(authenticationService).logout(claims, requestDto);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify logout method rejects an anonymous request
+            """)
+    void logout_Anonymous_IsRejected() throws Exception {
+        //when
+        mockMvc.perform(post("/auth/logout")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().is4xxClientError());
+    }
+}
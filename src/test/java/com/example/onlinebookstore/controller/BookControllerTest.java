@@ -31,6 +31,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.jdbc.datasource.init.ScriptUtils;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -129,11 +130,11 @@ public class BookControllerTest {
                 new BookDto().setId(1L).setTitle("TestBook1").setAuthor("TestAuthor1")
                         .setIsbn("TestIsbn1").setPrice(BigDecimal.valueOf(9.99))
                         .setDescription("Test Description1").setCoverImage("TestCoverImage")
-                        .setCategoryIds(new HashSet<>()),
+                        .setCategoryIds(new HashSet<>()).setVersion(0L),
                 new BookDto().setId(2L).setTitle("TestBook2").setAuthor("TestAuthor2")
                         .setIsbn("TestIsbn2").setPrice(BigDecimal.valueOf(10.99))
                         .setDescription("Test Description2").setCoverImage("TestCoverImage")
-                        .setCategoryIds(new HashSet<>()));
+                        .setCategoryIds(new HashSet<>()).setVersion(0L));
         //when
         MvcResult result = mockMvc.perform(get("/books")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -169,6 +170,31 @@ public class BookControllerTest {
         Assertions.assertEquals(expected, actual);
     }
 
+    @Test
+    @WithMockUser
+    @DisplayName("""
+            Verify getBookById answers a matching If-None-Match with 304 and no body
+            """)
+    void getBookById_MatchingIfNoneMatch_ReturnsNotModified() throws Exception {
+        //given
+        Long id = 1L;
+        String etag = mockMvc.perform(get("/books/" + id))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        //when
+        MvcResult result = mockMvc.perform(get("/books/" + id)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+
+        //then
+        Assertions.assertEquals("\"book-1-0\"", etag);
+        Assertions.assertEquals(0, result.getResponse().getContentAsByteArray().length);
+    }
+
     @Test
     @WithMockUser(username = "admin", roles = {"ADMIN"})
     @Sql(
@@ -96,8 +96,10 @@ public class CategoryControllerTest {
     void getAll_ReturnsCategoryDtoList() throws Exception {
         //given
         List<CategoryDto> expected = List.of(
-                new CategoryDto().setId(1L).setName("Category1").setDescription("Description1"),
-                new CategoryDto().setId(2L).setName("Category2").setDescription("Description2"));
+                new CategoryDto().setId(1L).setName("Category1").setDescription("Description1")
+                        .setVersion(0L),
+                new CategoryDto().setId(2L).setName("Category2").setDescription("Description2")
+                        .setVersion(0L));
 
         //when
         MvcResult result = mockMvc.perform(get("/categories")
@@ -183,7 +185,7 @@ public class CategoryControllerTest {
         //given
         Long id = 2L;
         CategoryDto expected = new CategoryDto()
-                .setId(id).setName("Category2").setDescription("Description2");
+                .setId(id).setName("Category2").setDescription("Description2").setVersion(0L);
 
         //when
         MvcResult result = mockMvc.perform(get("/categories/" + id)
@@ -212,7 +214,8 @@ public class CategoryControllerTest {
         CategoryDto expected = new CategoryDto()
                 .setId(id)
                 .setName(dto.getName())
-                .setDescription(dto.getDescription());
+                .setDescription(dto.getDescription())
+                .setVersion(1L);
         String jsonRequest = objectMapper.writeValueAsString(dto);
 
         //when
@@ -0,0 +1,166 @@
+package com.example.onlinebookstore.controller;
+
+import static com.example.onlinebookstore.util.book.TestBookSupplier.getTestCreateBookRequestDto;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.onlinebookstore.catalog.CategoryRegistry;
+import com.example.onlinebookstore.dto.book.CreateBookRequestDto;
+import com.example.onlinebookstore.dto.category.CategoryDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import javax.sql.DataSource;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "catalog.categories.enabled=true")
+public class CategoryRegistryControllerTest {
+    protected static MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
+    @BeforeAll
+    static void beforeAll(
+            @Autowired DataSource dataSource,
+            @Autowired WebApplicationContext applicationContext) {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(applicationContext)
+                .apply(springSecurity())
+                .build();
+        teardown(dataSource);
+    }
+
+    @BeforeEach
+    void setUp(@Autowired DataSource dataSource) throws SQLException {
+        executeScript(dataSource, "database/categories/insert-general-test-categories.sql");
+        categoryRegistry.reload();
+    }
+
+    @AfterEach
+    void tearDown(@Autowired DataSource dataSource) {
+        teardown(dataSource);
+        categoryRegistry.reload();
+    }
+
+    @AfterAll
+    static void afterAll(@Autowired DataSource dataSource) {
+        teardown(dataSource);
+    }
+
+    @SneakyThrows
+    private static void teardown(DataSource dataSource) {
+        executeScript(dataSource, "database/categories/delete-all-test-categories.sql");
+    }
+
+    private static void executeScript(DataSource dataSource, String script) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource(script));
+        }
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("""
+            Verify getAll method serves the categories loaded into the registry
+            """)
+    void getAll_RegistryEnabled_ReturnsLoadedCategories() throws Exception {
+        //given
+        List<CategoryDto> expected = List.of(
+                new CategoryDto().setId(1L).setName("Category1").setDescription("Description1")
+                        .setVersion(0L),
+                new CategoryDto().setId(2L).setName("Category2").setDescription("Description2")
+                        .setVersion(0L));
+
+        //when
+        MvcResult result = mockMvc.perform(get("/categories")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //then
+        CategoryDto[] actual = objectMapper.readValue(
+                result.getResponse().getContentAsByteArray(),
+                CategoryDto[].class);
+        Assertions.assertEquals(expected, Arrays.stream(actual).toList());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("""
+            Verify getCategoryById method doesn't see categories inserted outside the service
+            until the registry is reloaded
+            """)
+    void getCategoryById_InsertedOutsideService_RejectedUntilReload(
+            @Autowired DataSource dataSource) throws Exception {
+        //given
+        executeScript(dataSource, "database/categories/insert-unregistered-test-category.sql");
+
+        //when
+        mockMvc.perform(get("/categories/3")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        categoryRegistry.reload();
+        MvcResult result = mockMvc.perform(get("/categories/3")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //then
+        CategoryDto expected = new CategoryDto()
+                .setId(3L).setName("Category3").setDescription("Description3").setVersion(0L);
+        CategoryDto actual = objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                CategoryDto.class);
+        Assertions.assertEquals(expected, actual);
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("""
+            Verify createBook method rejects a category id missing from the registry
+            """)
+    void createBook_UnknownCategoryId_ReturnsBadRequest() throws Exception {
+        //given
+        CreateBookRequestDto createBookRequestDto = getTestCreateBookRequestDto()
+                .setCategoryIds(Set.of(1L, 99L));
+        String jsonRequest = objectMapper.writeValueAsString(createBookRequestDto);
+
+        //when
+        MvcResult result = mockMvc.perform(post("/books")
+                        .content(jsonRequest)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+
+        //then
+        Assertions.assertTrue(result.getResponse().getContentAsString()
+                .contains("Can't find categories by ids [99]"));
+    }
+}
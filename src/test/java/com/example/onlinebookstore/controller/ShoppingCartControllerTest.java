@@ -1,7 +1,7 @@
 package com.example.onlinebookstore.controller;
 
 import static com.example.onlinebookstore.util.shoppingcart.TestShoppingCartSupplier.getTestShoppingCartDto;
-import static com.example.onlinebookstore.util.user.TestUserSupplier.getTestUser;
+import static com.example.onlinebookstore.util.user.TestUserSupplier.getTestUserPrincipal;
 import static org.hamcrest.Matchers.equalTo;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
@@ -16,7 +16,7 @@ import com.example.onlinebookstore.dto.cartitem.CartItemDto;
 import com.example.onlinebookstore.dto.cartitem.CreateCartItemRequestDto;
 import com.example.onlinebookstore.dto.cartitem.UpdateCartItemRequestDto;
 import com.example.onlinebookstore.dto.shoppingcart.ShoppingCartDto;
-import com.example.onlinebookstore.model.User;
+import com.example.onlinebookstore.security.UserPrincipal;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -111,7 +111,7 @@ public class ShoppingCartControllerTest {
         //given
         Long id = 1L;
         ShoppingCartDto expected = getTestShoppingCartDto();
-        User user = getTestUser();
+        UserPrincipal user = getTestUserPrincipal();
 
         //when
         MvcResult result = mockMvc.perform(get("/cart")
@@ -136,7 +136,7 @@ public class ShoppingCartControllerTest {
         //given
         CreateCartItemRequestDto dto = new CreateCartItemRequestDto().setBookId(2L).setQuantity(2);
         String jsonRequest = objectMapper.writeValueAsString(dto);
-        User user = getTestUser();
+        UserPrincipal user = getTestUserPrincipal();
         CartItemDto first =
                 new CartItemDto().setId(1L).setBookId(1L).setQuantity(1).setBookTitle("TestBook1");
         CartItemDto second =
@@ -168,7 +168,7 @@ public class ShoppingCartControllerTest {
         //given
         Long id = 1L;
         UpdateCartItemRequestDto dto = new UpdateCartItemRequestDto().setQuantity(10);
-        User user = getTestUser();
+        UserPrincipal user = getTestUserPrincipal();
         String jsonRequest = objectMapper.writeValueAsString(dto);
         CartItemDto expectedCartItemDto =
                 new CartItemDto().setId(1L).setBookId(1L).setBookTitle("TestBook1").setQuantity(10);
@@ -201,7 +201,7 @@ public class ShoppingCartControllerTest {
     void deleteCartItem_ValidInput_ReturnsShoppingCartDto() throws Exception {
         //given
         Long id = 1L;
-        User user = getTestUser();
+        UserPrincipal user = getTestUserPrincipal();
         //when
         mockMvc.perform(delete("/cart/cart-items/" + id)
                 .with(user(user))
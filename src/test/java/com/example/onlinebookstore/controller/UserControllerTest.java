@@ -0,0 +1,63 @@
+package com.example.onlinebookstore.controller;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.onlinebookstore.security.AuthenticationService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class UserControllerTest {
+    protected static MockMvc mockMvc;
+    @MockBean
+    private AuthenticationService authenticationService;
+
+    @BeforeAll
+    static void beforeAll(@Autowired WebApplicationContext applicationContext) {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(applicationContext)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("""
+            Verify revokeTokens method revokes every token of the user
+            """)
+    void revokeTokens_Admin_RevokesAllUserTokens() throws Exception {
+        //when
+        mockMvc.perform(post("/users/5/revoke-tokens"))
+                .andExpect(status().isNoContent());
+
+        //then
+        verify(authenticationService).revokeAll(5L);
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("""
+            Verify revokeTokens method is forbidden for a regular user
+            """)
+    void revokeTokens_RegularUser_ReturnsForbidden() throws Exception {
+        //when
+        mockMvc.perform(post("/users/5/revoke-tokens"))
+                .andExpect(status().isForbidden());
+
+        //then
+        verify(authenticationService, never()).revokeAll(anyLong());
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.onlinebookstore.lib;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class AfterCommitTest {
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("""
+            Verify run() executes the action at once outside a transaction
+            """)
+    void run_NoTransaction_RunsImmediately() {
+        //given
+        AtomicInteger runs = new AtomicInteger();
+
+        //when
+        AfterCommit.run(runs::incrementAndGet);
+
+        //then
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify run() defers the action until the surrounding transaction commits
+            """)
+    void run_InTransaction_RunsAfterCommitOnly() {
+        //given
+        AtomicInteger runs = new AtomicInteger();
+        TransactionSynchronizationManager.initSynchronization();
+
+        //when
+        AfterCommit.run(runs::incrementAndGet);
+        int beforeCommit = runs.get();
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit);
+
+        //then
+        assertEquals(0, beforeCommit);
+        assertEquals(1, runs.get());
+    }
+}
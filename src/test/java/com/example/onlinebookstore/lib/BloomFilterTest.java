@@ -0,0 +1,38 @@
+package com.example.onlinebookstore.lib;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class BloomFilterTest {
+    private static final int INSERTIONS = 1000;
+
+    @Test
+    @DisplayName("""
+            Verify mightContain() never misses an inserted hash
+            and rarely reports one that was never inserted
+            """)
+    void mightContain_InsertedAndAbsentHashes_ReturnsExpectedResults() {
+        //given
+        BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+        for (long i = 0; i < INSERTIONS; i++) {
+            filter.put(i * 0x9E3779B97F4A7C15L);
+        }
+
+        //when
+        int falsePositives = 0;
+        for (long i = INSERTIONS; i < INSERTIONS * 11L; i++) {
+            if (filter.mightContain(i * 0x9E3779B97F4A7C15L)) {
+                falsePositives++;
+            }
+        }
+
+        //then
+        for (long i = 0; i < INSERTIONS; i++) {
+            assertTrue(filter.mightContain(i * 0x9E3779B97F4A7C15L));
+        }
+        assertFalse(falsePositives > INSERTIONS / 5);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.onlinebookstore.lib;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class CompressedBitmapTest {
+    @Test
+    @DisplayName("""
+            Verify and() and or() match set semantics across sparse and dense containers
+            """)
+    void andOr_SparseAndDenseBitmaps_ReturnsSetIntersectionAndUnion() {
+        //given
+        CompressedBitmap evens = CompressedBitmap.of(
+                IntStream.range(0, 100_000).filter(i -> i % 2 == 0).toArray());
+        CompressedBitmap sparse = CompressedBitmap.of(3, 4, 70_000, 70_001, 200_000);
+
+        //when
+        CompressedBitmap intersection = evens.and(sparse);
+        CompressedBitmap union = evens.or(sparse);
+
+        //then
+        assertArrayEquals(new int[]{4, 70_000}, intersection.toArray());
+        assertEquals(50_000 + 3, union.cardinality());
+        assertEquals(200_000, union.toArray()[union.cardinality() - 1]);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify remove() shrinks a dense container back and drops empty ones
+            """)
+    void remove_AllValues_LeavesEmptyBitmap() {
+        //given
+        int[] values = IntStream.range(0, 10_000).toArray();
+        CompressedBitmap bitmap = CompressedBitmap.of(values);
+
+        //when
+        for (int value = 0; value < 9_000; value++) {
+            bitmap.remove(value);
+        }
+        int remaining = bitmap.cardinality();
+        for (int value = 9_000; value < 10_000; value++) {
+            bitmap.remove(value);
+        }
+
+        //then
+        assertEquals(1_000, remaining);
+        assertFalse(bitmap.contains(9_999));
+        assertEquals(0, bitmap.cardinality());
+        assertTrue(bitmap.isEmpty());
+    }
+}
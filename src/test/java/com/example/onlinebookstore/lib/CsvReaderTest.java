@@ -0,0 +1,49 @@
+package com.example.onlinebookstore.lib;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class CsvReaderTest {
+    @Test
+    @DisplayName("""
+            Verify next() reads quoted separators, escaped quotes and line breaks
+            """)
+    void next_QuotedFields_ReturnsUnquotedValues() throws IOException {
+        //given
+        CsvReader csvReader = new CsvReader(new StringReader(
+                "title,author\r\n\"A, \"\"quoted\"\" title\",Bob\n\"two\nlines\",\n"));
+
+        //when
+        List<String> header = csvReader.next();
+        List<String> first = csvReader.next();
+        List<String> second = csvReader.next();
+
+        //then
+        assertEquals(List.of("title", "author"), header);
+        assertEquals(List.of("A, \"quoted\" title", "Bob"), first);
+        assertEquals(List.of("two\nlines", ""), second);
+        assertNull(csvReader.next());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify next() throws an exception for an unterminated quoted field
+            """)
+    void next_UnterminatedQuote_ThrowsException() {
+        //given
+        CsvReader csvReader = new CsvReader(new StringReader("\"title,author"));
+
+        //when
+        IOException exception = assertThrows(IOException.class, csvReader::next);
+
+        //then
+        assertEquals("Unterminated quoted field at line 1", exception.getMessage());
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.onlinebookstore.lib;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class EntityTagsTest {
+    @Test
+    @DisplayName("""
+            Verify versionOf() reads back the version of a tag built by of()
+            """)
+    void versionOf_TagOfSameEntity_ReturnsVersion() {
+        //given
+        String etag = EntityTags.of("book", 7L, 3L);
+
+        //when
+        Long actual = EntityTags.versionOf(etag, "book", 7L);
+
+        //then
+        assertEquals("\"book-7-3\"", etag);
+        assertEquals(3L, actual);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify versionOf() ignores a missing or wildcard If-Match and never matches foreign tags
+            """)
+    void versionOf_MissingWildcardOrForeignTag_ReturnsNullOrUnknownVersion() {
+        //when
+        Long missing = EntityTags.versionOf(null, "book", 7L);
+        Long wildcard = EntityTags.versionOf("*", "book", 7L);
+        Long otherBook = EntityTags.versionOf("\"book-8-3\"", "book", 7L);
+
+        //then
+        assertNull(missing);
+        assertNull(wildcard);
+        assertEquals(-1L, otherBook);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify versionOf() never matches a weak If-Match tag
+            """)
+    void versionOf_WeakTag_ReturnsUnknownVersion() {
+        //when
+        Long actual = EntityTags.versionOf("W/\"book-7-3\"", "book", 7L);
+
+        //then
+        assertEquals(-1L, actual);
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.onlinebookstore.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.onlinebookstore.catalog.CategoryRegistry;
+import com.example.onlinebookstore.dto.book.BookDto;
+import com.example.onlinebookstore.dto.book.BookDtoWithoutCategoryIds;
+import com.example.onlinebookstore.dto.book.PatchBookRequestDto;
+import com.example.onlinebookstore.model.Book;
+import com.example.onlinebookstore.repository.book.BookRepository;
+import com.example.onlinebookstore.service.BookService;
+import com.example.onlinebookstore.util.SqlStatementRecorder;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.LongStream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.onlinebookstore.util.SqlStatementRecorder",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class BookRepositoryTest {
+    private static final Long CATEGORY_ID = 1L;
+    private static final int PAGE_SIZE = 10;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private BookService bookService;
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        jdbcTemplate.update("INSERT INTO categories (id, name, description, is_deleted) "
+                + "VALUES (?, 'Category1', 'Description1', false)", CATEGORY_ID);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {50, 500})
+    @DisplayName("""
+            Verify findAll() with a specification pages in SQL
+            and loads only one page of books regardless of the catalog size
+            """)
+    void findAll_SpecificationAndPageable_LoadsOnlyRequestedPage(int catalogSize) {
+        //given
+        insertBooks(catalogSize);
+        Pageable pageable = PageRequest.of(1, PAGE_SIZE);
+        statistics.clear();
+        SqlStatementRecorder.clear();
+
+        //when
+        List<Book> actual = bookRepository.findAll(Specification.where(null), pageable)
+                .getContent();
+
+        //then
+        assertEquals(PAGE_SIZE, actual.size());
+        assertEquals(PAGE_SIZE + 1L, actual.get(0).getId());
+        assertEquals(PAGE_SIZE, countLoadedBooks());
+        assertTrue(hasPagedQuery());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {50, 500})
+    @DisplayName("""
+            Verify findAllByCategoriesId() pages in SQL
+            and projects the page without loading book entities
+            """)
+    void findAllByCategoriesId_ValidCategory_ProjectsOnlyRequestedPage(int catalogSize) {
+        //given
+        insertBooks(catalogSize);
+        Pageable pageable = PageRequest.of(0, PAGE_SIZE);
+        statistics.clear();
+        SqlStatementRecorder.clear();
+
+        //when
+        List<BookDtoWithoutCategoryIds> actual =
+                bookRepository.findAllByCategoriesId(CATEGORY_ID, pageable);
+
+        //then
+        assertEquals(PAGE_SIZE, actual.size());
+        assertEquals("Book1", actual.get(0).getTitle());
+        assertEquals(0, countLoadedBooks());
+        assertTrue(hasPagedQuery());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {50, 500})
+    @DisplayName("""
+            Verify findDtoSlice() pages in SQL
+            and projects books with their category ids without loading book entities
+            """)
+    void findDtoSlice_ValidPageable_ProjectsOnlyRequestedPage(int catalogSize) {
+        //given
+        insertBooks(catalogSize);
+        Pageable pageable = PageRequest.of(1, PAGE_SIZE);
+        statistics.clear();
+        SqlStatementRecorder.clear();
+
+        //when
+        List<BookDto> actual = bookRepository.findDtoSlice(pageable).getContent();
+
+        //then
+        assertEquals(PAGE_SIZE, actual.size());
+        assertEquals(PAGE_SIZE + 1L, actual.get(0).getId());
+        assertEquals(Set.of(CATEGORY_ID), actual.get(0).getCategoryIds());
+        assertEquals(0, countLoadedBooks());
+        assertTrue(hasPagedQuery());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify patching categoryIds deletes and inserts only the changed join rows
+            """)
+    void patch_ChangedCategoryIds_UpdatesOnlyChangedJoinRows() {
+        //given
+        insertBooks(1);
+        jdbcTemplate.update("INSERT INTO categories (id, name, description, is_deleted) "
+                + "VALUES (2, 'Category2', 'Description2', false), "
+                + "(3, 'Category3', 'Description3', false)");
+        jdbcTemplate.update("INSERT INTO books_categories (book_id, category_id) VALUES (1, 2)");
+        categoryRegistry.reload();
+        PatchBookRequestDto requestDto = new PatchBookRequestDto().setCategoryIds(Set.of(2L, 3L));
+        SqlStatementRecorder.clear();
+
+        //when
+        BookDto actual = bookService.patch(1L, requestDto, null);
+
+        //then
+        assertEquals(Set.of(2L, 3L), actual.getCategoryIds());
+        assertEquals(1, countJoinStatements("delete"));
+        assertEquals(1, countJoinStatements("insert"));
+        assertEquals(List.of(2L, 3L), jdbcTemplate.queryForList("SELECT category_id "
+                + "FROM books_categories WHERE book_id = 1 ORDER BY category_id", Long.class));
+    }
+
+    private long countLoadedBooks() {
+        return statistics.getEntityStatistics(Book.class.getName()).getLoadCount();
+    }
+
+    private long countJoinStatements(String operation) {
+        return SqlStatementRecorder.getStatements().stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .filter(sql -> sql.startsWith(operation) && sql.contains("books_categories"))
+                .count();
+    }
+
+    private boolean hasPagedQuery() {
+        return SqlStatementRecorder.getStatements().stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .anyMatch(sql -> sql.contains("from books") && sql.contains(" limit "));
+    }
+
+    private void insertBooks(int count) {
+        jdbcTemplate.batchUpdate("INSERT INTO books "
+                        + "(id, title, author, isbn, price, is_deleted) "
+                        + "VALUES (?, ?, 'Author', ?, 9.99, false)",
+                LongStream.rangeClosed(1, count)
+                        .mapToObj(id -> new Object[]{id, "Book" + id, "Isbn" + id})
+                        .toList());
+        jdbcTemplate.batchUpdate("INSERT INTO books_categories (book_id, category_id) "
+                        + "VALUES (?, ?)",
+                LongStream.rangeClosed(1, count)
+                        .mapToObj(id -> new Object[]{id, CATEGORY_ID})
+                        .toList());
+    }
+
+    private void cleanUp() {
+        jdbcTemplate.update("DELETE FROM books_categories");
+        jdbcTemplate.update("DELETE FROM books");
+        jdbcTemplate.update("DELETE FROM categories");
+    }
+}
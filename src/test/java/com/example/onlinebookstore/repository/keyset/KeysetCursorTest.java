@@ -0,0 +1,79 @@
+package com.example.onlinebookstore.repository.keyset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.onlinebookstore.exception.InvalidCursorException;
+import com.example.onlinebookstore.model.Book;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+public class KeysetCursorTest {
+    private static final Set<String> PROPERTIES = Set.of("id", "title", "price");
+
+    @Test
+    @DisplayName("""
+            Verify an encoded next cursor decodes to the last row's sort key and id
+            """)
+    void of_EncodedNextCursor_RoundTrips() {
+        //given
+        KeysetCursor first = KeysetCursor.of("", Sort.by(Sort.Direction.DESC, "price"), PROPERTIES);
+        Book book = new Book();
+        book.setId(7L);
+        book.setPrice(BigDecimal.valueOf(1999, 2));
+
+        //when
+        KeysetCursor actual = KeysetCursor.of(
+                first.next(book, book.getId()).encode(), Sort.unsorted(), PROPERTIES);
+
+        //then
+        assertTrue(first.isFirst());
+        assertEquals(new KeysetCursor("price", Sort.Direction.DESC, 7L, "19.99"), actual);
+        assertEquals(new BigDecimal("19.99"), actual.typedValue(BigDecimal.class));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify a page fetched with one extra row exposes a next cursor
+            """)
+    void of_ExtraRow_HasNextCursor() {
+        //given
+        KeysetCursor cursor = KeysetCursor.of("", Sort.unsorted(), PROPERTIES);
+        Book first = new Book();
+        first.setId(1L);
+        Book second = new Book();
+        second.setId(2L);
+
+        //when
+        KeysetPage<Book> page = KeysetPage.of(List.of(first, second), 1, cursor, Book::getId);
+        KeysetPage<Book> last = KeysetPage.of(List.of(second), 1, cursor, Book::getId);
+
+        //then
+        assertEquals(List.of(first), page.content());
+        assertEquals(1L, KeysetCursor.of(page.nextCursor(), Sort.unsorted(), PROPERTIES).id());
+        assertNull(last.nextCursor());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify tampered cursors and unsupported sort properties are rejected
+            """)
+    void of_InvalidCursor_ThrowsException() {
+        //given
+        String unsupported = new KeysetCursor("isbn", Sort.Direction.ASC, 1L, "x").encode();
+
+        //then
+        assertThrows(InvalidCursorException.class,
+                () -> KeysetCursor.of("not a cursor", Sort.unsorted(), PROPERTIES));
+        assertThrows(InvalidCursorException.class,
+                () -> KeysetCursor.of(unsupported, Sort.unsorted(), PROPERTIES));
+        assertThrows(InvalidCursorException.class,
+                () -> KeysetCursor.of("", Sort.by("isbn"), PROPERTIES));
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.onlinebookstore.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.onlinebookstore.dto.book.BookFacetsDto;
+import com.example.onlinebookstore.dto.book.FacetCountDto;
+import com.example.onlinebookstore.model.Book;
+import com.example.onlinebookstore.model.Category;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class BookFilterIndexTest {
+    private static final Long FANTASY_ID = 1L;
+    private static final Long CLASSICS_ID = 2L;
+    private static final int MAX_RESULTS = 100;
+    private static final BigDecimal[] PRICE_BANDS = {BigDecimal.TEN, new BigDecimal("20")};
+    private BookFilterIndex bookFilterIndex;
+
+    @BeforeEach
+    void setUp() {
+        bookFilterIndex = new BookFilterIndex(500L, PRICE_BANDS);
+        bookFilterIndex.index(getBook(1L, "Tolkien", "4.99", FANTASY_ID));
+        bookFilterIndex.index(getBook(2L, "Tolkien", "12.50", FANTASY_ID, CLASSICS_ID));
+        bookFilterIndex.index(getBook(3L, "Austen", "20.00", CLASSICS_ID));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify filter() matches any or all categories within a price range
+            """)
+    void filter_CategoriesAndPrices_ReturnsMatchingIds() {
+        //when
+        Optional<List<Long>> any = bookFilterIndex.filter(
+                List.of(FANTASY_ID, CLASSICS_ID), false, null, null, MAX_RESULTS);
+        Optional<List<Long>> all = bookFilterIndex.filter(
+                List.of(FANTASY_ID, CLASSICS_ID), true, null, null, MAX_RESULTS);
+        Optional<List<Long>> priced = bookFilterIndex.filter(List.of(FANTASY_ID), false,
+                new BigDecimal("5.00"), new BigDecimal("12.50"), MAX_RESULTS);
+
+        //then
+        assertEquals(Optional.of(List.of(1L, 2L, 3L)), any);
+        assertEquals(Optional.of(List.of(2L)), all);
+        assertEquals(Optional.of(List.of(2L)), priced);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify reindexed and removed books leave their old bitmaps
+            and oversized results fall back
+            """)
+    void filter_AfterUpdateAndRemove_ReturnsCurrentIds() {
+        //given
+        bookFilterIndex.index(getBook(1L, "Tolkien", "30.00", CLASSICS_ID));
+        bookFilterIndex.remove(3L);
+
+        //when
+        Optional<List<Long>> fantasy = bookFilterIndex.filter(
+                List.of(FANTASY_ID), false, null, null, MAX_RESULTS);
+        Optional<List<Long>> expensive = bookFilterIndex.filter(
+                List.of(), false, new BigDecimal("15"), null, MAX_RESULTS);
+        Optional<List<Long>> tooMany = bookFilterIndex.filter(
+                List.of(CLASSICS_ID), false, null, null, 1);
+
+        //then
+        assertEquals(Optional.of(List.of(2L)), fantasy);
+        assertEquals(Optional.of(List.of(1L)), expensive);
+        assertTrue(tooMany.isEmpty());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify facets() counts categories, authors and price bands of the matching books
+            """)
+    void facets_MatchingBooks_ReturnsCounts() {
+        //when
+        BookFacetsDto all = bookFilterIndex.facets(List.of(), false, null, null, MAX_RESULTS);
+        BookFacetsDto byIds = bookFilterIndex.facets(List.of(2L, 3L, 4L), 1);
+
+        //then
+        assertEquals(List.of(new FacetCountDto("1", 2), new FacetCountDto("2", 2)),
+                all.categories());
+        assertEquals(List.of(new FacetCountDto("2", 2)), byIds.categories());
+        assertEquals(List.of(new FacetCountDto("Tolkien", 2), new FacetCountDto("Austen", 1)),
+                all.authors());
+        assertEquals(List.of(new FacetCountDto("Austen", 1)), byIds.authors());
+        assertEquals(List.of(new FacetCountDto("*-10", 1), new FacetCountDto("10-20", 1),
+                new FacetCountDto("20-*", 1)), all.prices());
+    }
+
+    private static Book getBook(Long id, String author, String price, Long... categoryIds) {
+        Book book = new Book().setId(id).setAuthor(author).setPrice(new BigDecimal(price));
+        for (Long categoryId : categoryIds) {
+            book.getCategories().add(new Category(categoryId));
+        }
+        return book;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.onlinebookstore.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.onlinebookstore.model.Book;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class BookSearchEngineTest {
+    private static final int LIMIT = 10;
+    private BookSearchEngine bookSearchEngine;
+
+    @BeforeEach
+    void setUp() {
+        bookSearchEngine = new BookSearchEngine();
+        bookSearchEngine.index(new Book().setId(1L).setTitle("The Hobbit")
+                .setAuthor("J. R. R. Tolkien").setDescription("A journey there and back again"));
+        bookSearchEngine.index(new Book().setId(2L).setTitle("The Silmarillion")
+                .setAuthor("J. R. R. Tolkien").setDescription("Myths of the Elder Days"));
+        bookSearchEngine.index(new Book().setId(3L).setTitle("Tolkien: A Biography")
+                .setAuthor("Humphrey Carpenter").setDescription("The life of the author"));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify search() ranks title matches above author matches
+            """)
+    void search_TermInTitleAndAuthor_RanksTitleFirst() {
+        //when
+        List<Long> actual = bookSearchEngine.search("tolkien", LIMIT);
+
+        //then
+        assertEquals(List.of(3L, 1L, 2L), actual);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify search() matches prefixes and requires all terms
+            """)
+    void search_PrefixTerms_ReturnsBooksMatchingAllTerms() {
+        //when
+        List<Long> actual = bookSearchEngine.search("Tolk silm", LIMIT);
+
+        //then
+        assertEquals(List.of(2L), actual);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify matches() returns every match regardless of the search() limit
+            """)
+    void matches_MoreMatchesThanLimit_ReturnsAllMatches() {
+        //when
+        List<Long> limited = bookSearchEngine.search("tolkien", 1);
+        Set<Long> actual = bookSearchEngine.matches("tolkien");
+
+        //then
+        assertEquals(List.of(3L), limited);
+        assertEquals(Set.of(1L, 2L, 3L), actual);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify removed and re-indexed books are reflected in search()
+            """)
+    void search_AfterRemoveAndUpdate_ReturnsCurrentBooks() {
+        //given
+        bookSearchEngine.remove(1L);
+        bookSearchEngine.index(new Book().setId(2L).setTitle("Unfinished Tales")
+                .setAuthor("J. R. R. Tolkien"));
+
+        //when
+        List<Long> hobbit = bookSearchEngine.search("hobbit", LIMIT);
+        List<Long> tales = bookSearchEngine.search("tales", LIMIT);
+
+        //then
+        assertTrue(hobbit.isEmpty());
+        assertEquals(List.of(2L), tales);
+        assertTrue(bookSearchEngine.search("silmarillion", LIMIT).isEmpty());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify search() keeps every expansion of a short prefix when intersecting terms
+            """)
+    void search_PrefixWithManyExpansions_ReturnsBooksMatchingAllTerms() {
+        //given
+        for (long id = 100; id < 200; id++) {
+            bookSearchEngine.index(new Book().setId(id).setTitle("Saga part" + id)
+                    .setAuthor(id == 199 ? "J. R. R. Tolkien" : "Anonymous"));
+        }
+
+        //when
+        List<Long> actual = bookSearchEngine.search("part tolkien", LIMIT);
+
+        //then
+        assertEquals(List.of(199L), actual);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.onlinebookstore.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.onlinebookstore.model.Book;
+import com.example.onlinebookstore.model.Category;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class CatalogTotalsTest {
+    private static final Long FANTASY_ID = 1L;
+    private static final Long CLASSICS_ID = 2L;
+
+    @Test
+    @DisplayName("""
+            Verify totals are adjusted when books are created, recategorized and deleted
+            """)
+    void index_CreateUpdateDelete_AdjustsTotals() {
+        //given
+        CatalogTotals catalogTotals = new CatalogTotals(null);
+        catalogTotals.index(new Book().setId(1L)
+                .setCategories(Set.of(new Category(FANTASY_ID), new Category(CLASSICS_ID))));
+        catalogTotals.index(new Book().setId(2L).setCategories(Set.of(new Category(FANTASY_ID))));
+
+        //when
+        catalogTotals.index(new Book().setId(1L).setCategories(Set.of(new Category(CLASSICS_ID))));
+        catalogTotals.remove(2L);
+        catalogTotals.remove(3L);
+
+        //then
+        assertEquals(1L, catalogTotals.total());
+        assertEquals(0L, catalogTotals.total(FANTASY_ID));
+        assertEquals(1L, catalogTotals.total(CLASSICS_ID));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify removeCategory() drops the category total and keeps book totals consistent
+            """)
+    void removeCategory_CategoryWithBooks_DropsCategoryTotal() {
+        //given
+        CatalogTotals catalogTotals = new CatalogTotals(null);
+        catalogTotals.index(new Book().setId(1L)
+                .setCategories(Set.of(new Category(FANTASY_ID), new Category(CLASSICS_ID))));
+        catalogTotals.index(new Book().setId(2L).setCategories(Set.of(new Category(FANTASY_ID))));
+
+        //when
+        catalogTotals.removeCategory(FANTASY_ID);
+        catalogTotals.index(new Book().setId(2L).setCategories(Set.of(new Category(FANTASY_ID))));
+        catalogTotals.remove(1L);
+
+        //then
+        assertEquals(1L, catalogTotals.total());
+        assertEquals(1L, catalogTotals.total(FANTASY_ID));
+        assertEquals(0L, catalogTotals.total(CLASSICS_ID));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.onlinebookstore.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.onlinebookstore.dto.book.BookSuggestionDto;
+import com.example.onlinebookstore.model.Book;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SuggestionIndexTest {
+    private static final String TITLE = "title";
+    private static final String AUTHOR = "author";
+    private SuggestionIndex suggestionIndex;
+
+    @BeforeEach
+    void setUp() {
+        suggestionIndex = new SuggestionIndex(null, 3);
+        suggestionIndex.index(new Book().setId(1L).setTitle("The Hobbit")
+                .setAuthor("J. R. R. Tolkien"));
+        suggestionIndex.index(new Book().setId(2L).setTitle("The Silmarillion")
+                .setAuthor("J. R. R. Tolkien"));
+        suggestionIndex.index(new Book().setId(3L).setTitle("The Hunger Games")
+                .setAuthor("Suzanne Collins"));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify suggest() completes titles and authors from the start of any word
+            """)
+    void suggest_ValidPrefix_ReturnsCompletions() {
+        //when
+        List<BookSuggestionDto> titles = suggestionIndex.suggest("The H", 10);
+        List<BookSuggestionDto> authors = suggestionIndex.suggest("tolk", 10);
+
+        //then
+        assertEquals(List.of(new BookSuggestionDto("The Hobbit", TITLE),
+                new BookSuggestionDto("The Hunger Games", TITLE)), titles);
+        assertEquals(List.of(new BookSuggestionDto("J. R. R. Tolkien", AUTHOR)), authors);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify suggest() ranks completions by recorded sales
+            """)
+    void suggest_AfterSales_RanksBestSellersFirst() {
+        //given
+        suggestionIndex.recordSale(3L, 5);
+        suggestionIndex.recordSale(2L, 2);
+
+        //when
+        List<BookSuggestionDto> actual = suggestionIndex.suggest("the", 2);
+
+        //then
+        assertEquals(List.of(new BookSuggestionDto("The Hunger Games", TITLE),
+                new BookSuggestionDto("The Silmarillion", TITLE)), actual);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify removed and renamed books disappear from suggest()
+            """)
+    void suggest_AfterRemoveAndUpdate_ReturnsCurrentCompletions() {
+        //given
+        suggestionIndex.remove(3L);
+        suggestionIndex.index(new Book().setId(2L).setTitle("Unfinished Tales")
+                .setAuthor("J. R. R. Tolkien"));
+
+        //when
+        List<BookSuggestionDto> actual = suggestionIndex.suggest("the", 10);
+
+        //then
+        assertEquals(List.of(new BookSuggestionDto("The Hobbit", TITLE)), actual);
+        assertTrue(suggestionIndex.suggest("hunger", 10).isEmpty());
+        assertTrue(suggestionIndex.suggest("silm", 10).isEmpty());
+    }
+}
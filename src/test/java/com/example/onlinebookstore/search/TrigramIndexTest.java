@@ -0,0 +1,74 @@
+package com.example.onlinebookstore.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.onlinebookstore.model.Book;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TrigramIndexTest {
+    private static final int LIMIT = 10;
+    private TrigramIndex trigramIndex;
+
+    @BeforeEach
+    void setUp() {
+        trigramIndex = new TrigramIndex();
+        trigramIndex.index(new Book().setId(1L).setTitle("The Hobbit")
+                .setAuthor("J. R. R. Tolkien"));
+        trigramIndex.index(new Book().setId(2L).setTitle("Dune")
+                .setAuthor("Frank Herbert"));
+        trigramIndex.index(new Book().setId(3L).setTitle("Tolkien: A Biography")
+                .setAuthor("Humphrey Carpenter"));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify search() finds misspelled authors and titles
+            """)
+    void search_MisspelledTerms_ReturnsMatchingBooks() {
+        //when
+        List<Long> tolkien = trigramIndex.search("Tolkein", LIMIT);
+        List<Long> herbert = trigramIndex.search("frnk herbet", LIMIT);
+        List<Long> dune = trigramIndex.search("dnue", LIMIT);
+
+        //then
+        assertEquals(List.of(1L, 3L), tolkien);
+        assertEquals(List.of(2L), herbert);
+        assertEquals(List.of(2L), dune);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify search() ranks closer matches first and drops distant ones
+            """)
+    void search_DifferentDistances_RanksByDistance() {
+        //given
+        trigramIndex.index(new Book().setId(4L).setTitle("Hobbits")
+                .setAuthor("Someone Else"));
+
+        //when
+        List<Long> actual = trigramIndex.search("hobbit", LIMIT);
+
+        //then
+        assertEquals(List.of(1L, 4L), actual);
+        assertTrue(trigramIndex.search("carpenter hobbit", LIMIT).isEmpty());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify removed books are no longer returned by search()
+            """)
+    void search_RemovedBook_ReturnsEmptyList() {
+        //given
+        trigramIndex.remove(2L);
+
+        //when
+        List<Long> actual = trigramIndex.search("dune", LIMIT);
+
+        //then
+        assertTrue(actual.isEmpty());
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.onlinebookstore.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class JwtUtilTest {
+    private static final String SECRET = "This.Is-My!TESTSecret?1237894654231321564";
+    private static final Long EXPIRATION = 300000L;
+
+    @Test
+    @DisplayName("""
+            Verify parseToken() reports the issue time with millisecond precision
+            """)
+    void parseToken_GeneratedToken_KeepsMillisecondIssueTime() {
+        //given
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 0);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", EXPIRATION);
+        long before = System.currentTimeMillis();
+        String token = jwtUtil.generateToken(new UserPrincipal(1L, "user@gmail.com",
+                Set.of("USER")));
+        long after = System.currentTimeMillis();
+
+        //when
+        JwtClaims actual = jwtUtil.parseToken(token);
+
+        //then
+        assertTrue(actual.issuedAt() >= before && actual.issuedAt() <= after);
+        assertEquals(actual.issuedAt() + EXPIRATION, actual.expiresAt(), 1000L);
+        assertEquals(1L, actual.userId());
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.onlinebookstore.security;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.example.onlinebookstore.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class LoginThrottleTest {
+    private static final long INTERVAL = 60000L;
+
+    @Test
+    @DisplayName("""
+            Verify acquire() rejects an account once its burst is used up
+            """)
+    void acquire_AccountBurstExceeded_ThrowsException() {
+        //given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LoginThrottle throttle = new LoginThrottle(registry, 2, INTERVAL, 100, INTERVAL, 1000);
+        throttle.acquire("user@gmail.com", "10.0.0.1");
+        throttle.acquire("USER@gmail.com", "10.0.0.2");
+
+        //when
+        assertThrows(TooManyRequestsException.class,
+                () -> throttle.acquire("user@gmail.com", "10.0.0.3"));
+
+        //then
+        assertDoesNotThrow(() -> throttle.acquire("other@gmail.com", "10.0.0.3"));
+        assertEquals(1.0, registry.get("auth.login.rejections")
+                .tag("reason", "account")
+                .counter()
+                .count());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify acquire() rejects a client IP once its burst is used up
+            """)
+    void acquire_IpBurstExceeded_ThrowsException() {
+        //given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LoginThrottle throttle = new LoginThrottle(registry, 100, INTERVAL, 2, INTERVAL, 1000);
+        throttle.acquire("first@gmail.com", "10.0.0.1");
+        throttle.acquire("second@gmail.com", "10.0.0.1");
+
+        //when
+        assertThrows(TooManyRequestsException.class,
+                () -> throttle.acquire("third@gmail.com", "10.0.0.1"));
+
+        //then
+        assertEquals(1.0, registry.get("auth.login.rejections")
+                .tag("reason", "ip")
+                .counter()
+                .count());
+    }
+}
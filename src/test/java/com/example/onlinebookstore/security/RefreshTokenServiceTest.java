@@ -0,0 +1,131 @@
+package com.example.onlinebookstore.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.onlinebookstore.model.RefreshToken;
+import com.example.onlinebookstore.model.User;
+import com.example.onlinebookstore.repository.refreshtoken.RefreshTokenRepository;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+public class RefreshTokenServiceTest {
+    private static final String TOKEN = "refresh-token";
+    private static final Long REFRESH_EXPIRATION = 60000L;
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "refreshExpiration",
+                REFRESH_EXPIRATION);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify issue() stores only the hash of the returned token
+            """)
+    void issue_ValidUser_StoresTokenHash() {
+        //given
+        User user = new User().setId(1L);
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+
+        //when
+        String actual = refreshTokenService.issue(user);
+
+        //then
+        verify(refreshTokenRepository).save(captor.capture());
+        RefreshToken stored = captor.getValue();
+        assertSame(user, stored.getUser());
+        assertEquals(TokenHasher.sha256(actual), stored.getTokenHash());
+        assertNotEquals(actual, stored.getTokenHash());
+        assertTrue(stored.getExpiresAt().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify consume() returns the user of a valid token and deletes the token
+            """)
+    void consume_ValidToken_ReturnsUser() {
+        //given
+        RefreshToken refreshToken = getRefreshToken(LocalDateTime.now().plusMinutes(1));
+        when(refreshTokenRepository.findByTokenHash(TokenHasher.sha256(TOKEN)))
+                .thenReturn(Optional.of(refreshToken));
+        when(refreshTokenRepository.deleteUsedToken(refreshToken.getId())).thenReturn(1);
+
+        //when
+        User actual = refreshTokenService.consume(TOKEN);
+
+        //then
+        assertSame(refreshToken.getUser(), actual);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify consume() rejects a token that was already used by a concurrent refresh
+            """)
+    void consume_AlreadyUsedToken_ThrowsException() {
+        //given
+        RefreshToken refreshToken = getRefreshToken(LocalDateTime.now().plusMinutes(1));
+        when(refreshTokenRepository.findByTokenHash(TokenHasher.sha256(TOKEN)))
+                .thenReturn(Optional.of(refreshToken));
+        when(refreshTokenRepository.deleteUsedToken(refreshToken.getId())).thenReturn(0);
+
+        //when
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.consume(TOKEN));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify consume() rejects an expired token
+            """)
+    void consume_ExpiredToken_ThrowsException() {
+        //given
+        RefreshToken refreshToken = getRefreshToken(LocalDateTime.now().minusMinutes(1));
+        when(refreshTokenRepository.findByTokenHash(TokenHasher.sha256(TOKEN)))
+                .thenReturn(Optional.of(refreshToken));
+        when(refreshTokenRepository.deleteUsedToken(refreshToken.getId())).thenReturn(1);
+
+        //when
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.consume(TOKEN));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify revoke() deletes the token by its hash
+            """)
+    void revoke_ValidToken_DeletesByHash() {
+        //when
+        refreshTokenService.revoke(TOKEN);
+
+        //then
+        verify(refreshTokenRepository).deleteByTokenHash(TokenHasher.sha256(TOKEN));
+    }
+
+    private static RefreshToken getRefreshToken(LocalDateTime expiresAt) {
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setId(1L);
+        refreshToken.setUser(new User().setId(1L));
+        refreshToken.setTokenHash(TokenHasher.sha256(TOKEN));
+        refreshToken.setExpiresAt(expiresAt);
+        return refreshToken;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.onlinebookstore.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.onlinebookstore.model.TokenRevocation;
+import com.example.onlinebookstore.repository.tokenrevocation.TokenRevocationRepository;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class TokenRevocationServiceTest {
+    private static final Long USER_ID = 1L;
+    private static final long EXPIRATION = 300000L;
+    private TokenRevocationRepository tokenRevocationRepository;
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationRepository = mock(TokenRevocationRepository.class);
+        tokenRevocationService = new TokenRevocationService(tokenRevocationRepository);
+        ReflectionTestUtils.setField(tokenRevocationService, "expiration", EXPIRATION);
+        ReflectionTestUtils.setField(tokenRevocationService, "expectedSize", 100);
+        when(tokenRevocationRepository.findAllByExpiresAtAfter(any())).thenReturn(List.of());
+        tokenRevocationService.reload();
+    }
+
+    @Test
+    @DisplayName("""
+            Verify revokeToken() rejects only the revoked token of a user
+            """)
+    void revokeToken_ValidClaims_RejectsOnlyThatToken() {
+        //given
+        long now = System.currentTimeMillis();
+        JwtClaims revoked = getClaims("token-1", USER_ID, now);
+        JwtClaims other = getClaims("token-2", USER_ID, now);
+
+        //when
+        tokenRevocationService.revokeToken(revoked);
+
+        //then
+        assertTrue(tokenRevocationService.isRevoked(revoked));
+        assertFalse(tokenRevocationService.isRevoked(other));
+        verify(tokenRevocationRepository).save(any(TokenRevocation.class));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify revokeAll() rejects tokens issued up to the revocation
+            and accepts a token issued a millisecond later
+            """)
+    void revokeAll_TokensAroundEpoch_RejectsOnlyOlderTokens() {
+        //given
+        ArgumentCaptor<TokenRevocation> captor = ArgumentCaptor.forClass(TokenRevocation.class);
+
+        //when
+        tokenRevocationService.revokeAll(USER_ID);
+
+        //then
+        verify(tokenRevocationRepository).save(captor.capture());
+        long revokedAt = toMillis(captor.getValue().getRevokedAt());
+        assertTrue(tokenRevocationService.isRevoked(getClaims("old", USER_ID, revokedAt - 1)));
+        assertTrue(tokenRevocationService.isRevoked(getClaims("same", USER_ID, revokedAt)));
+        assertFalse(tokenRevocationService.isRevoked(getClaims("new", USER_ID, revokedAt + 1)));
+        assertFalse(tokenRevocationService.isRevoked(getClaims("other", 2L, revokedAt - 1)));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify reload() restores stored revocations and forgets ones no longer stored
+            """)
+    void reload_StoredRevocations_ReplacesSnapshot() {
+        //given
+        long now = System.currentTimeMillis();
+        tokenRevocationService.revokeToken(getClaims("forgotten", 2L, now));
+        TokenRevocation tokenRevocation = new TokenRevocation();
+        tokenRevocation.setTokenId("token-1");
+        tokenRevocation.setUserId(2L);
+        TokenRevocation userRevocation = new TokenRevocation();
+        userRevocation.setUserId(USER_ID);
+        userRevocation.setRevokedAt(toDateTime(now));
+        when(tokenRevocationRepository.findAllByExpiresAtAfter(any()))
+                .thenReturn(List.of(tokenRevocation, userRevocation));
+
+        //when
+        tokenRevocationService.reload();
+
+        //then
+        assertTrue(tokenRevocationService.isRevoked(getClaims("token-1", 2L, now)));
+        assertFalse(tokenRevocationService.isRevoked(getClaims("forgotten", 2L, now)));
+        assertTrue(tokenRevocationService.isRevoked(getClaims("old", USER_ID, now)));
+        assertFalse(tokenRevocationService.isRevoked(getClaims("new", USER_ID, now + 1)));
+    }
+
+    private static JwtClaims getClaims(String id, Long userId, long issuedAt) {
+        return new JwtClaims(id, "user@gmail.com", userId, Set.of("USER"),
+                issuedAt, issuedAt + EXPIRATION);
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.onlinebookstore.security;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.onlinebookstore.cache.BoundedCache;
+import com.example.onlinebookstore.model.User;
+import com.example.onlinebookstore.repository.user.UserRepository;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class UserDetailsCacheListenerTest {
+    private static final String EMAIL = "user@gmail.com";
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("""
+            Verify a user loaded with a differently cased email is cached under one key
+            """)
+    void loadUserByUsername_DifferentCase_LoadsOnce() {
+        //given
+        UserRepository userRepository = mock(UserRepository.class);
+        BoundedCache<String, User> cache = new BoundedCache<>("users", 10, 60000L);
+        CustomUserDetailsService userDetailsService =
+                new CustomUserDetailsService(userRepository, cache);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(new User().setEmail(EMAIL)));
+
+        //when
+        userDetailsService.loadUserByUsername("User@Gmail.com");
+        userDetailsService.loadUserByUsername(EMAIL);
+
+        //then
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+        assertNotNull(cache.getIfPresent(EMAIL));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify onChange() evicts the cached user only after the transaction commits
+            """)
+    void onChange_InTransaction_InvalidatesAfterCommit() {
+        //given
+        BoundedCache<String, User> cache = new BoundedCache<>("users", 10, 60000L);
+        User user = new User().setEmail("User@Gmail.com");
+        cache.put(EMAIL, user);
+        UserDetailsCacheListener listener = new UserDetailsCacheListener(cache);
+        TransactionSynchronizationManager.initSynchronization();
+
+        //when
+        listener.onChange(user);
+
+        //then
+        assertNotNull(cache.getIfPresent(EMAIL));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit);
+        assertNull(cache.getIfPresent(EMAIL));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.onlinebookstore.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import com.example.onlinebookstore.dto.book.BookDto;
+import com.example.onlinebookstore.repository.book.BookRepository;
+import com.example.onlinebookstore.service.impl.BookExportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class BookExportServiceImplTest {
+    @Mock
+    private BookRepository bookRepository;
+    private BookExportService bookExportService;
+
+    @BeforeEach
+    void setUp() {
+        bookExportService = new BookExportServiceImpl(bookRepository, new ObjectMapper());
+        List<BookDto> books = List.of(
+                new BookDto().setId(1L).setTitle("Kobzar").setAuthor("Taras Shevchenko")
+                        .setIsbn("9786170000001").setPrice(BigDecimal.valueOf(250))
+                        .setCategoryIds(new LinkedHashSet<>(List.of(1L, 2L))),
+                new BookDto().setId(2L).setTitle("Hello, \"World\"").setAuthor("Author")
+                        .setIsbn("9786170000002").setPrice(new BigDecimal("9.99"))
+                        .setDescription("Two\nlines").setCategoryIds(Set.of()));
+        doAnswer(invocation -> {
+            Consumer<BookDto> consumer = invocation.getArgument(0);
+            books.forEach(consumer);
+            return null;
+        }).when(bookRepository).streamAll(any());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify exportCsv() writes a header and quotes fields that need it
+            """)
+    void exportCsv_StreamedBooks_WritesCsv() throws IOException {
+        //given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        String expected = "id,title,author,isbn,price,description,coverImage,categoryIds\r\n"
+                + "1,Kobzar,Taras Shevchenko,9786170000001,250,,,1;2\r\n"
+                + "2,\"Hello, \"\"World\"\"\",Author,9786170000002,9.99,\"Two\nlines\",,\r\n";
+
+        //when
+        bookExportService.exportCsv(outputStream);
+
+        //then
+        assertEquals(expected, outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify exportNdjson() writes one book per line
+            """)
+    void exportNdjson_StreamedBooks_WritesOneBookPerLine() throws IOException {
+        //given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        //when
+        bookExportService.exportNdjson(outputStream);
+
+        //then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Kobzar", objectMapper.readValue(lines[0], BookDto.class).getTitle());
+        assertEquals(Set.of(1L, 2L),
+                objectMapper.readValue(lines[0], BookDto.class).getCategoryIds());
+        assertEquals("Two\nlines",
+                objectMapper.readValue(lines[1], BookDto.class).getDescription());
+    }
+}
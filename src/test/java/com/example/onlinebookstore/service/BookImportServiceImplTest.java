@@ -0,0 +1,140 @@
+package com.example.onlinebookstore.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.onlinebookstore.cache.BoundedCache;
+import com.example.onlinebookstore.catalog.CatalogGeneration;
+import com.example.onlinebookstore.catalog.CatalogSnapshots;
+import com.example.onlinebookstore.dto.book.BookImportErrorDto;
+import com.example.onlinebookstore.dto.book.BookImportResultDto;
+import com.example.onlinebookstore.mapper.impl.BookMapperImpl;
+import com.example.onlinebookstore.model.Book;
+import com.example.onlinebookstore.repository.book.BookRepository;
+import com.example.onlinebookstore.repository.category.CategoryRepository;
+import com.example.onlinebookstore.search.BookIndexer;
+import com.example.onlinebookstore.search.CatalogTotals;
+import com.example.onlinebookstore.service.impl.BookImportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import java.io.StringReader;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+public class BookImportServiceImplTest {
+    private static final int BATCH_SIZE = 2;
+    private static final String EXISTING_ISBN = "1";
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private CategoryRepository categoryRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private BookIndexer bookIndexer;
+    @Mock
+    private CatalogTotals catalogTotals;
+    @Mock
+    private CatalogSnapshots catalogSnapshots;
+    @Mock
+    private CatalogGeneration catalogGeneration;
+    private BookImportService bookImportService;
+
+    @BeforeEach
+    void setUp() {
+        bookImportService = new BookImportServiceImpl(bookRepository, categoryRepository,
+                new BookMapperImpl(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper(), transactionManager, bookIndexer, catalogTotals,
+                new BoundedCache<>("books", 10, 60000L),
+                new BoundedCache<>("searchResults", 10, 60000L),
+                catalogSnapshots, catalogGeneration, new SimpleMeterRegistry(), BATCH_SIZE, 100);
+        when(categoryRepository.findAllIds()).thenReturn(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify importCsv() upserts valid rows in batches and reports invalid rows
+            """)
+    void importCsv_ValidAndInvalidRows_ReturnsImportResult() {
+        //given
+        String csv = """
+                title,author,isbn,price,categoryIds
+                Book1,Author1,1,10.00,1
+                Book2,Author2,2,12.50,1;2
+                ,Author3,3,5.00,
+                Book4,Author4,4,abc,
+                Book5,Author5,5,7.00,9
+                Book6,Author6,6,1,
+                """;
+        when(bookRepository.upsertAllByIsbn(anyList())).thenAnswer(invocation -> {
+            List<Book> books = invocation.getArgument(0);
+            books.forEach(book -> book.setId(Long.valueOf(book.getIsbn())));
+            return (int) books.stream()
+                    .filter(book -> !EXISTING_ISBN.equals(book.getIsbn()))
+                    .count();
+        });
+
+        //when
+        BookImportResultDto actual = bookImportService.importCsv(new StringReader(csv));
+
+        //then
+        assertEquals(6, actual.processed());
+        assertEquals(2, actual.inserted());
+        assertEquals(1, actual.updated());
+        assertEquals(3, actual.failed());
+        assertEquals(List.of(3L, 4L, 5L), actual.errors().stream()
+                .map(BookImportErrorDto::row)
+                .toList());
+        assertEquals("price must be a number", actual.errors().get(1).error());
+        verify(bookRepository, times(2)).upsertAllByIsbn(anyList());
+        verify(bookIndexer, times(3)).index(any(Book.class));
+        verify(catalogSnapshots, times(1)).rebuild();
+    }
+
+    @Test
+    @DisplayName("""
+            Verify importNdjson() retries a failed batch row by row and reports the failing row
+            """)
+    void importNdjson_BatchFailure_ReportsFailingRow() {
+        //given
+        String ndjson = """
+                {"title":"Book1","author":"Author1","isbn":"7","price":10}
+                {"title":"Book2","author":"Author2","isbn":"8","price":"x"}
+                {"title":"Book3","author":"Author3","isbn":"9","price":3}
+                """;
+        when(bookRepository.upsertAllByIsbn(anyList())).thenAnswer(invocation -> {
+            List<Book> books = invocation.getArgument(0);
+            if (books.stream().anyMatch(book -> "9".equals(book.getIsbn()))) {
+                throw new DataIntegrityViolationException("Data too long");
+            }
+            books.forEach(book -> book.setId(Long.valueOf(book.getIsbn())));
+            return books.size();
+        });
+
+        //when
+        BookImportResultDto actual = bookImportService.importNdjson(new StringReader(ndjson));
+
+        //then
+        assertEquals(3, actual.processed());
+        assertEquals(1, actual.inserted());
+        assertEquals(2, actual.failed());
+        assertEquals(List.of(2L, 3L), actual.errors().stream()
+                .map(BookImportErrorDto::row)
+                .toList());
+        assertEquals("9", actual.errors().get(1).isbn());
+    }
+}
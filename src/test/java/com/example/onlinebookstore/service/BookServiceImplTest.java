@@ -5,40 +5,69 @@ import static com.example.onlinebookstore.util.book.TestBookSupplier.getBookDtoW
 import static com.example.onlinebookstore.util.book.TestBookSupplier.getBookFromCreateBookRequestDto;
 import static com.example.onlinebookstore.util.book.TestBookSupplier.getTestBook;
 import static com.example.onlinebookstore.util.book.TestBookSupplier.getTestCreateBookRequestDto;
-import static com.example.onlinebookstore.util.category.TestCategorySupplier.getTestCategory;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import com.example.onlinebookstore.cache.BoundedCache;
+import com.example.onlinebookstore.catalog.CatalogGeneration;
+import com.example.onlinebookstore.catalog.CatalogSnapshots;
+import com.example.onlinebookstore.catalog.CategoryRegistry;
+import com.example.onlinebookstore.catalog.CategoryTable;
+import com.example.onlinebookstore.dto.book.BookBatchDto;
 import com.example.onlinebookstore.dto.book.BookDto;
 import com.example.onlinebookstore.dto.book.BookDtoWithoutCategoryIds;
+import com.example.onlinebookstore.dto.book.BookRepriceRequestDto;
+import com.example.onlinebookstore.dto.book.BookRepriceResultDto;
 import com.example.onlinebookstore.dto.book.BookSearchParameters;
 import com.example.onlinebookstore.dto.book.CreateBookRequestDto;
+import com.example.onlinebookstore.dto.book.PatchBookRequestDto;
+import com.example.onlinebookstore.exception.BookRepriceException;
 import com.example.onlinebookstore.mapper.BookMapper;
 import com.example.onlinebookstore.model.Book;
 import com.example.onlinebookstore.model.Category;
 import com.example.onlinebookstore.repository.book.BookRepository;
 import com.example.onlinebookstore.repository.book.BookSpecificationBuilder;
+import com.example.onlinebookstore.search.BookFilterIndex;
+import com.example.onlinebookstore.search.BookIndexer;
+import com.example.onlinebookstore.search.BookSearchEngine;
+import com.example.onlinebookstore.search.CatalogTotals;
+import com.example.onlinebookstore.search.SuggestionIndex;
 import com.example.onlinebookstore.service.impl.BookServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
+import java.math.BigDecimal;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @ExtendWith(MockitoExtension.class)
 public class BookServiceImplTest {
@@ -48,9 +77,34 @@ public class BookServiceImplTest {
     private BookMapper bookMapper;
     @Mock
     private BookSpecificationBuilder bookSpecificationBuilder;
+    @Mock
+    private BookSearchEngine bookSearchEngine;
+    @Mock
+    private BookIndexer bookIndexer;
+    @Mock
+    private SuggestionIndex suggestionIndex;
+    @Mock
+    private CatalogTotals catalogTotals;
+    @Mock
+    private CatalogSnapshots catalogSnapshots;
+    @Mock
+    private BookFilterIndex bookFilterIndex;
+    @Mock
+    private CatalogGeneration catalogGeneration;
+    @Mock
+    private CategoryRegistry categoryRegistry;
+    @Spy
+    private BoundedCache<Long, BookDto> bookCache = new BoundedCache<>("books", 10, 60000L, true);
     @InjectMocks
     private BookServiceImpl bookServiceImpl;
 
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
     @Test
     @DisplayName("""
             Verify save() method works
@@ -77,6 +131,26 @@ public class BookServiceImplTest {
         verifyNoMoreInteractions(bookRepository, bookMapper);
     }
 
+    @Test
+    @DisplayName("""
+            Verify save() rejects unknown category ids from the registry before writing
+            """)
+    void save_UnknownCategoryIds_ThrowsException() {
+        //given
+        CreateBookRequestDto createBookRequestDto = getTestCreateBookRequestDto()
+                .setCategoryIds(Set.of(7L));
+        when(categoryRegistry.isEnabled()).thenReturn(true);
+        when(categoryRegistry.current()).thenReturn(CategoryTable.EMPTY);
+
+        //when
+        Exception exception = assertThrows(EntityNotFoundException.class,
+                () -> bookServiceImpl.save(createBookRequestDto));
+
+        //then
+        assertEquals("Can't find categories by ids [7]", exception.getMessage());
+        verify(bookRepository, never()).save(any());
+    }
+
     @Test
     @DisplayName("""
             Verify findAll() method works
@@ -86,10 +160,8 @@ public class BookServiceImplTest {
         Book book = getTestBook();
         BookDto expected = getBookDtoFromBook(book);
         Pageable pageable = PageRequest.of(0, 10);
-        List<Book> books = List.of(book);
-        Page<Book> bookPage = new PageImpl<>(books, pageable, books.size());
-        when(bookRepository.findAll(pageable)).thenReturn(bookPage);
-        when(bookMapper.toDto(book)).thenReturn(expected);
+        Slice<BookDto> bookSlice = new SliceImpl<>(List.of(expected), pageable, false);
+        when(bookRepository.findDtoSlice(pageable)).thenReturn(bookSlice);
 
         //when
         List<BookDto> actual = bookServiceImpl.findAll(pageable);
@@ -97,11 +169,55 @@ public class BookServiceImplTest {
         //then
         assertEquals(actual.get(0), expected);
         assertEquals(1, actual.size());
-        verify(bookRepository, times(1)).findAll(pageable);
-        verify(bookMapper, times(1)).toDto(book);
+        verify(bookRepository, times(1)).findDtoSlice(pageable);
         verifyNoMoreInteractions(bookRepository, bookMapper);
     }
 
+    @Test
+    @DisplayName("""
+            Verify countAll() serves approximate totals without a count query
+            """)
+    void countAll_Approximate_DoesNotQueryRepository() {
+        //given
+        when(catalogTotals.total()).thenReturn(42L);
+
+        //when
+        long actual = bookServiceImpl.countAll(false);
+
+        //then
+        assertEquals(42L, actual);
+        verifyNoMoreInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify findAllByIds() keeps the request order, reports missing ids
+            and loads only uncached books
+            """)
+    void findAllByIds_CachedAndMissingIds_ReturnsBooksInRequestOrder() {
+        //given
+        ReflectionTestUtils.setField(bookServiceImpl, "maxBatchIds", 10);
+        Book cached = getTestBook();
+        Book loaded = getTestBook().setId(2L);
+        BookDto cachedDto = getBookDtoFromBook(cached);
+        BookDto loadedDto = getBookDtoFromBook(loaded);
+        when(bookRepository.findById(cached.getId())).thenReturn(Optional.of(cached));
+        when(bookRepository.findAllByIdIn(Set.of(2L, 99L))).thenReturn(List.of(loaded));
+        when(bookMapper.toDto(cached)).thenReturn(cachedDto);
+        when(bookMapper.toDto(loaded)).thenReturn(loadedDto);
+        bookServiceImpl.findById(cached.getId());
+
+        //when
+        BookBatchDto actual = bookServiceImpl.findAllByIds(List.of(2L, 1L, 99L));
+
+        //then
+        assertEquals(List.of(loadedDto, cachedDto), actual.books());
+        assertEquals(List.of(99L), actual.missingIds());
+        verify(bookRepository, times(1)).findById(cached.getId());
+        verify(bookRepository, times(1)).findAllByIdIn(Set.of(2L, 99L));
+        verifyNoMoreInteractions(bookRepository);
+    }
+
     @Test
     @DisplayName("""
             Verify findByIdl() method returns needed BookDTO if exists
@@ -123,6 +239,31 @@ public class BookServiceImplTest {
         verifyNoMoreInteractions(bookRepository, bookMapper);
     }
 
+    @Test
+    @DisplayName("""
+            Verify repeated findById() calls are served from the cache until the book is updated
+            """)
+    void findById_RepeatedCalls_LoadsOnceUntilUpdated() {
+        //given
+        Book book = getTestBook();
+        BookDto expected = getBookDtoFromBook(book);
+        when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
+        when(bookRepository.save(book)).thenReturn(book);
+        CreateBookRequestDto requestDto = getTestCreateBookRequestDto();
+        when(bookMapper.toModel(requestDto)).thenReturn(book);
+        when(bookMapper.toDto(book)).thenReturn(expected);
+
+        //when
+        bookServiceImpl.findById(book.getId());
+        bookServiceImpl.findById(book.getId());
+        bookServiceImpl.update(book.getId(), requestDto, null);
+        BookDto actual = bookServiceImpl.findById(book.getId());
+
+        //then
+        assertEquals(expected, actual);
+        verify(bookRepository, times(2)).findById(book.getId());
+    }
+
     @Test
     @DisplayName("""
             Verify findByIdl() method throws exception if id don't exist
@@ -166,21 +307,256 @@ public class BookServiceImplTest {
 
         BookDto expected = getBookDtoFromBook(book);
 
+        when(bookRepository.findVersionById(id)).thenReturn(Optional.of(0L));
         when(bookMapper.toModel(createBookRequestDto)).thenReturn(book);
         when(bookRepository.save(book)).thenReturn(book);
         when(bookMapper.toDto(book)).thenReturn(expected);
 
         //when
-        BookDto actual = bookServiceImpl.update(id, createBookRequestDto);
+        BookDto actual = bookServiceImpl.update(id, createBookRequestDto, 0L);
 
         //then
         assertEquals(expected, actual);
+        assertEquals(0L, book.getVersion());
+        verify(bookRepository, times(1)).findVersionById(id);
         verify(bookRepository, times(1)).save(book);
         verify(bookMapper, times(1)).toDto(book);
         verify(bookMapper, times(1)).toModel(createBookRequestDto);
         verifyNoMoreInteractions(bookRepository, bookMapper);
     }
 
+    @Test
+    @DisplayName("""
+            Verify update() rejects a stale expected version without saving the book
+            """)
+    void update_StaleVersion_ThrowsOptimisticLockingFailure() {
+        //given
+        Long id = 1L;
+        when(bookRepository.findVersionById(id)).thenReturn(Optional.of(2L));
+
+        //when
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> bookServiceImpl.update(id, getTestCreateBookRequestDto(), 1L));
+
+        //then
+        verify(bookRepository, never()).save(any());
+        verify(catalogGeneration, never()).increment();
+    }
+
+    @Test
+    @DisplayName("""
+            Verify patch() keeps unchanged categories and only adds and removes the difference
+            """)
+    void patch_ChangedCategoryIds_AppliesCategoryDifference() {
+        //given
+        Book book = getTestBook().setVersion(3L);
+        Category kept = new Category(1L).setName("Kept");
+        Category removed = new Category(2L).setName("Removed");
+        book.setCategories(new HashSet<>(Set.of(kept, removed)));
+        PatchBookRequestDto requestDto = new PatchBookRequestDto()
+                .setPrice(BigDecimal.ONE)
+                .setCategoryIds(Set.of(1L, 3L));
+        BookDto expected = getBookDtoFromBook(book);
+
+        when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
+        when(bookRepository.saveAndFlush(book)).thenReturn(book);
+        when(bookMapper.toDto(book)).thenReturn(expected);
+
+        //when
+        BookDto actual = bookServiceImpl.patch(book.getId(), requestDto, 3L);
+
+        //then
+        assertEquals(expected, actual);
+        assertEquals(Set.of(1L, 3L), book.getCategories().stream()
+                .map(Category::getId)
+                .collect(Collectors.toSet()));
+        assertTrue(book.getCategories().stream().anyMatch(category -> category == kept));
+        verify(bookMapper, times(1)).updateModel(requestDto, book);
+        verify(catalogGeneration, times(1)).increment();
+    }
+
+    @Test
+    @DisplayName("""
+            Verify reprice() updates a category in one set-based statement without loading ids
+            """)
+    void reprice_PercentForCategory_UpdatesMatchingBooksAtOnce() {
+        //given
+        BookSearchParameters searchParameters = new BookSearchParameters(null, null, null,
+                null, new Long[]{1L}, null, null, null);
+        BookRepriceRequestDto requestDto = new BookRepriceRequestDto(
+                BookRepriceRequestDto.Adjustment.PERCENT, new BigDecimal("-10"));
+        when(bookRepository.updatePricesMatching(searchParameters, new BigDecimal("0.90"),
+                BigDecimal.ZERO)).thenReturn(3);
+
+        //when
+        BookRepriceResultDto actual = bookServiceImpl.reprice(searchParameters, requestDto);
+
+        //then
+        assertEquals(new BookRepriceResultDto(3), actual);
+        verify(bookRepository, never()).findIds(any(), anyInt());
+        verify(bookIndexer, times(1)).reindexCategories(List.of(1L));
+        verify(catalogSnapshots, times(1)).rebuild();
+        verify(catalogGeneration, times(1)).increment();
+    }
+
+    @Test
+    @DisplayName("""
+            Verify reprice() defers reindexing and cache refresh until the UPDATE commits
+            """)
+    void reprice_InTransaction_RefreshesAfterCommit() {
+        //given
+        BookSearchParameters searchParameters = new BookSearchParameters(null, null, null,
+                null, new Long[]{1L}, null, null, null);
+        BookRepriceRequestDto requestDto = new BookRepriceRequestDto(
+                BookRepriceRequestDto.Adjustment.AMOUNT, BigDecimal.ONE);
+        when(bookRepository.updatePricesMatching(searchParameters, BigDecimal.ONE,
+                BigDecimal.ONE)).thenReturn(3);
+        TransactionSynchronizationManager.initSynchronization();
+
+        //when
+        bookServiceImpl.reprice(searchParameters, requestDto);
+
+        //then
+        verify(bookIndexer, never()).reindexCategories(any());
+        verify(catalogSnapshots, never()).rebuild();
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit);
+        verify(bookIndexer, times(1)).reindexCategories(List.of(1L));
+        verify(catalogSnapshots, times(1)).rebuild();
+        verify(catalogGeneration, times(1)).increment();
+    }
+
+    @Test
+    @DisplayName("""
+            Verify reprice() with a text filter updates the capped list of matching ids
+            """)
+    void reprice_AmountForTitle_UpdatesMatchingIds() {
+        //given
+        ReflectionTestUtils.setField(bookServiceImpl, "maxRepriceBooks", 100);
+        ReflectionTestUtils.setField(bookServiceImpl, "maxBatchIds", 10);
+        BookSearchParameters searchParameters = new BookSearchParameters(new String[]{"Hobbit"},
+                null, null, null, null, null, null, null);
+        BookRepriceRequestDto requestDto = new BookRepriceRequestDto(
+                BookRepriceRequestDto.Adjustment.AMOUNT, BigDecimal.ONE);
+        Specification<Book> specification = Specification.where(null);
+        List<Long> ids = List.of(1L, 2L);
+
+        when(bookSpecificationBuilder.build(searchParameters)).thenReturn(specification);
+        when(bookRepository.findIds(specification, 101)).thenReturn(ids);
+        when(bookRepository.updatePrices(ids, BigDecimal.ONE, BigDecimal.ONE)).thenReturn(2);
+
+        //when
+        BookRepriceResultDto actual = bookServiceImpl.reprice(searchParameters, requestDto);
+
+        //then
+        assertEquals(new BookRepriceResultDto(2), actual);
+        verify(bookRepository, never()).updatePricesMatching(any(), any(), any());
+        verify(bookIndexer, times(1)).reindex(ids);
+        verify(catalogGeneration, times(1)).increment();
+    }
+
+    @Test
+    @DisplayName("""
+            Verify reprice() with a query filters every match up to the limit in id batches
+            """)
+    void reprice_QueryWithCategory_FiltersAllMatchesInBatches() {
+        //given
+        ReflectionTestUtils.setField(bookServiceImpl, "maxRepriceBooks", 100);
+        ReflectionTestUtils.setField(bookServiceImpl, "maxBatchIds", 2);
+        BookSearchParameters searchParameters = new BookSearchParameters(null, null, "tolkien",
+                null, new Long[]{1L}, null, null, null);
+        BookRepriceRequestDto requestDto = new BookRepriceRequestDto(
+                BookRepriceRequestDto.Adjustment.AMOUNT, BigDecimal.ONE);
+        when(bookSpecificationBuilder.build(searchParameters))
+                .thenReturn(Specification.where(null));
+        when(bookSearchEngine.search("tolkien", 101)).thenReturn(List.of(5L, 3L, 1L));
+        when(bookRepository.findIds(any(), anyInt()))
+                .thenReturn(List.of(5L, 3L))
+                .thenReturn(List.of(1L));
+        when(bookRepository.updatePrices(List.of(5L, 3L), BigDecimal.ONE, BigDecimal.ONE))
+                .thenReturn(2);
+        when(bookRepository.updatePrices(List.of(1L), BigDecimal.ONE, BigDecimal.ONE))
+                .thenReturn(1);
+
+        //when
+        BookRepriceResultDto actual = bookServiceImpl.reprice(searchParameters, requestDto);
+
+        //then
+        assertEquals(new BookRepriceResultDto(3), actual);
+        verify(bookRepository, times(1)).findIds(any(), eq(2));
+        verify(bookRepository, times(1)).findIds(any(), eq(1));
+        verify(bookIndexer, times(1)).reindex(List.of(5L, 3L, 1L));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify reprice() rejects a request without any filter
+            """)
+    void reprice_NoFilter_ThrowsException() {
+        //given
+        BookSearchParameters searchParameters = new BookSearchParameters(null, null, null,
+                null, null, null, null, null);
+        BookRepriceRequestDto requestDto = new BookRepriceRequestDto(
+                BookRepriceRequestDto.Adjustment.AMOUNT, BigDecimal.ONE);
+
+        //when
+        assertThrows(BookRepriceException.class,
+                () -> bookServiceImpl.reprice(searchParameters, requestDto));
+
+        //then
+        verify(bookRepository, never()).updatePrices(any(), any(), any());
+        verify(bookRepository, never()).updatePricesMatching(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify search() with q and filters hydrates only the requested page in rank order
+            """)
+    void search_QueryWithCategory_HydratesOnlyPage() {
+        //given
+        ReflectionTestUtils.setField(bookServiceImpl, "maxSearchResults", 1000);
+        BookSearchParameters searchParameters = new BookSearchParameters(null, null, "tolkien",
+                null, new Long[]{1L}, null, null, null);
+        Book first = getTestBook().setId(2L);
+        Book second = getTestBook().setId(1L);
+        when(bookSpecificationBuilder.build(searchParameters))
+                .thenReturn(Specification.where(null));
+        when(bookSearchEngine.search("tolkien", 1000))
+                .thenReturn(List.of(5L, 4L, 3L, 2L, 1L));
+        when(bookRepository.findIds(any(), eq(5))).thenReturn(List.of(1L, 2L, 4L, 5L));
+        when(bookRepository.findAllByIdIn(List.of(2L, 1L))).thenReturn(List.of(second, first));
+        when(bookMapper.toDto(first)).thenReturn(new BookDto().setId(2L));
+        when(bookMapper.toDto(second)).thenReturn(new BookDto().setId(1L));
+
+        //when
+        List<BookDto> actual = bookServiceImpl.search(searchParameters, PageRequest.of(1, 2));
+
+        //then
+        assertEquals(List.of(2L, 1L), actual.stream().map(BookDto::getId).toList());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify exact countSearch() with q counts every match, not just the ranked page cap
+            """)
+    void countSearch_QueryWithCategory_CountsAllMatchesInBatches() {
+        //given
+        ReflectionTestUtils.setField(bookServiceImpl, "maxBatchIds", 2);
+        BookSearchParameters searchParameters = new BookSearchParameters(null, null, "tolkien",
+                null, new Long[]{1L}, null, null, null);
+        when(bookSpecificationBuilder.build(searchParameters))
+                .thenReturn(Specification.where(null));
+        when(bookSearchEngine.matches("tolkien")).thenReturn(Set.of(1L, 2L, 3L));
+        when(bookRepository.count(any(Specification.class))).thenReturn(2L).thenReturn(1L);
+
+        //when
+        long actual = bookServiceImpl.countSearch(searchParameters, true);
+
+        //then
+        assertEquals(3L, actual);
+        verify(bookSearchEngine, never()).search(any(), anyInt());
+    }
+
     @Test
     @DisplayName("""
             Verify search method works
@@ -191,14 +567,15 @@ public class BookServiceImplTest {
         BookDto expected = getBookDtoFromBook(book);
         Specification<Book> specification = Specification.where(null);
         BookSearchParameters bookSearchParameters =
-                new BookSearchParameters(new String[0], new String[0]);
+                new BookSearchParameters(new String[0], new String[0], null, new String[0],
+                        null, null, null, null);
 
         Pageable pageable = PageRequest.of(0, 10);
         List<Book> books = List.of(book);
-        Page<Book> bookPage = new PageImpl<>(books, pageable, books.size());
+        Slice<Book> bookSlice = new SliceImpl<>(books, pageable, false);
 
         when(bookSpecificationBuilder.build(bookSearchParameters)).thenReturn(specification);
-        when(bookRepository.findAll(specification, pageable)).thenReturn(bookPage);
+        when(bookRepository.findSlice(specification, pageable)).thenReturn(bookSlice);
         when(bookMapper.toDto(book)).thenReturn(expected);
 
         //when
@@ -207,26 +584,54 @@ public class BookServiceImplTest {
         //then
         assertEquals(1, actual.size());
         assertEquals(expected, actual.get(0));
-        verify(bookRepository, times(1)).findAll(specification, pageable);
+        verify(bookRepository, times(1)).findSlice(specification, pageable);
         verify(bookMapper, times(1)).toDto(book);
         verifyNoMoreInteractions(bookRepository, bookMapper);
     }
 
+    @Test
+    @DisplayName("""
+            Verify equivalent searches share a cached result until the catalog changes
+            """)
+    void search_EquivalentParameters_QueriesOnceUntilCatalogWrite() {
+        //given
+        Book book = getTestBook();
+        BookDto expected = getBookDtoFromBook(book);
+        Specification<Book> specification = Specification.where(null);
+        Pageable pageable = PageRequest.of(0, 10);
+
+        when(bookSpecificationBuilder.build(any())).thenReturn(specification);
+        when(bookRepository.findSlice(specification, pageable))
+                .thenReturn(new SliceImpl<>(List.of(book), pageable, false));
+        when(bookMapper.toDto(book)).thenReturn(expected);
+        BookSearchParameters first = new BookSearchParameters(new String[]{"b", "a"},
+                null, null, null, null, null, null, null);
+        BookSearchParameters second = new BookSearchParameters(new String[]{"a", "b", "a"},
+                null, null, null, null, null, null, null);
+
+        //when
+        bookServiceImpl.search(first, pageable);
+        bookServiceImpl.search(second, pageable);
+        bookServiceImpl.deleteByID(book.getId());
+        List<BookDto> actual = bookServiceImpl.search(second, pageable);
+
+        //then
+        assertEquals(List.of(expected), actual);
+        verify(bookRepository, times(2)).findSlice(specification, pageable);
+    }
+
     @Test
     @DisplayName("""
             Verify findAllByCategoriesId method works
             """)
     void findAllByCategoriesId_ValidInput_ReturnsListBookDtoWithoutCategoryIds() {
         //given
-        Category category = getTestCategory();
         Book book = getTestBook();
         BookDtoWithoutCategoryIds expected = getBookDtoWithoutCategoryIdsFromBook(book);
         Pageable pageable = PageRequest.of(0, 10);
-        List<Book> books = List.of(book);
-        Page<Book> bookPage = new PageImpl<>(books, pageable, books.size());
 
-        when(bookRepository.findAllByCategoriesId(book.getId(), pageable)).thenReturn(books);
-        when(bookMapper.toDtoWithoutCategories(book)).thenReturn(expected);
+        when(bookRepository.findAllByCategoriesId(book.getId(), pageable))
+                .thenReturn(List.of(expected));
 
         //when
         List<BookDtoWithoutCategoryIds> actual =
@@ -237,8 +642,6 @@ public class BookServiceImplTest {
         assertEquals(expected, actual.get(0));
         verify(bookRepository, times(1))
                 .findAllByCategoriesId(book.getId(), pageable);
-        verify(bookMapper, times(1))
-                .toDtoWithoutCategories(book);
         verifyNoMoreInteractions(bookRepository, bookMapper);
     }
 }
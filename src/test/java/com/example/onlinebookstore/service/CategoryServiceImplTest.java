@@ -5,11 +5,20 @@ import static com.example.onlinebookstore.util.category.TestCategorySupplier.get
 import static com.example.onlinebookstore.util.category.TestCategorySupplier.getTestCategory;
 import static com.example.onlinebookstore.util.category.TestCategorySupplier.getTestCreateCategoryRequestDto;
 
+import com.example.onlinebookstore.cache.BoundedCache;
+import com.example.onlinebookstore.catalog.CatalogGeneration;
+import com.example.onlinebookstore.catalog.CatalogSnapshots;
+import com.example.onlinebookstore.catalog.CategoryRegistry;
+import com.example.onlinebookstore.catalog.CategoryTable;
+import com.example.onlinebookstore.dto.book.BookDto;
 import com.example.onlinebookstore.dto.category.CategoryDto;
 import com.example.onlinebookstore.dto.category.CreateCategoryRequestDto;
 import com.example.onlinebookstore.mapper.CategoryMapper;
 import com.example.onlinebookstore.model.Category;
+import com.example.onlinebookstore.repository.book.BookRepository;
 import com.example.onlinebookstore.repository.category.CategoryRepository;
+import com.example.onlinebookstore.search.BookIndexer;
+import com.example.onlinebookstore.search.CatalogTotals;
 import com.example.onlinebookstore.service.impl.CategoryServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
 import java.util.List;
@@ -33,6 +42,20 @@ public class CategoryServiceImplTest {
     private CategoryRepository categoryRepository;
     @Mock
     private CategoryMapper categoryMapper;
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private BookIndexer bookIndexer;
+    @Mock
+    private CatalogTotals catalogTotals;
+    @Mock
+    private BoundedCache<Long, BookDto> bookCache;
+    @Mock
+    private CatalogSnapshots catalogSnapshots;
+    @Mock
+    private CatalogGeneration catalogGeneration;
+    @Mock
+    private CategoryRegistry categoryRegistry;
     @InjectMocks
     private CategoryServiceImpl categoryService;
 
@@ -110,6 +133,26 @@ public class CategoryServiceImplTest {
         Mockito.verifyNoMoreInteractions(categoryRepository, categoryMapper);
     }
 
+    @Test
+    @DisplayName("""
+            Verify getById() serves categories from the preloaded registry without the database
+            """)
+    void getById_RegistryEnabled_ReturnsCategoryFromRegistry() {
+        //given
+        CategoryDto expected = getCategoryDtoFromCategory(getTestCategory());
+        Mockito.when(categoryRegistry.isEnabled()).thenReturn(true);
+        Mockito.when(categoryRegistry.current()).thenReturn(CategoryTable.of(List.of(expected)));
+
+        //when
+        CategoryDto actual = categoryService.getById(expected.getId());
+
+        //then
+        Assertions.assertEquals(expected, actual);
+        Assertions.assertThrows(EntityNotFoundException.class,
+                () -> categoryService.getById(100L));
+        Mockito.verifyNoInteractions(categoryRepository, categoryMapper);
+    }
+
     @Test
     @DisplayName("""
             Verify getById method throws an Exception if not exist
@@ -146,15 +189,17 @@ public class CategoryServiceImplTest {
 
         CategoryDto expected = getCategoryDtoFromCategory(category);
 
+        Mockito.when(categoryRepository.findVersionById(id)).thenReturn(Optional.of(0L));
         Mockito.when(categoryRepository.save(category)).thenReturn(category);
         Mockito.when(categoryMapper.toDto(category)).thenReturn(expected);
         Mockito.when(categoryMapper.toModel(createCategoryRequestDto)).thenReturn(category);
 
         //when
-        CategoryDto actual = categoryService.update(id, createCategoryRequestDto);
+        CategoryDto actual = categoryService.update(id, createCategoryRequestDto, null);
 
         //then
         Assertions.assertEquals(expected, actual);
+        Mockito.verify(categoryRepository, Mockito.times(1)).findVersionById(id);
         Mockito.verify(categoryRepository, Mockito.times(1)).save(category);
         Mockito.verify(categoryMapper, Mockito.times(1)).toDto(category);
         Mockito.verify(categoryMapper, Mockito.times(1)).toModel(createCategoryRequestDto);
@@ -168,4 +213,28 @@ public class CategoryServiceImplTest {
     void deleteById_ValidId_DoesNotThrowException() {
         Assertions.assertDoesNotThrow(() -> categoryService.deleteById(Mockito.anyLong()));
     }
+
+    @Test
+    @DisplayName("""
+            Verify deleteById() bumps the versions, reindexes and invalidates the category books
+            """)
+    void deleteById_CategoryWithBooks_InvalidatesCachedBooks() {
+        //given
+        Long id = 1L;
+        Mockito.when(bookRepository.findAllIdsByCategoryId(id)).thenReturn(List.of(2L, 3L));
+
+        //when
+        categoryService.deleteById(id);
+
+        //then
+        Mockito.verify(categoryRepository, Mockito.times(1)).deleteById(id);
+        Mockito.verify(bookRepository, Mockito.times(1)).incrementVersions(List.of(2L, 3L));
+        Mockito.verify(bookIndexer, Mockito.times(1)).reindex(List.of(2L, 3L));
+        Mockito.verify(catalogTotals, Mockito.times(1)).removeCategory(id);
+        Mockito.verify(catalogGeneration, Mockito.times(1)).increment();
+        Mockito.verify(bookCache, Mockito.times(1)).invalidate(2L);
+        Mockito.verify(bookCache, Mockito.times(1)).invalidate(3L);
+        Mockito.verify(bookCache, Mockito.times(1)).invalidateAll();
+        Mockito.verifyNoMoreInteractions(bookCache);
+    }
 }
@@ -83,7 +83,8 @@ public class TestBookSupplier {
                 .setPrice(BigDecimal.valueOf(9.99))
                 .setDescription("Test Description1")
                 .setCoverImage("TestCoverImage")
-                .setCategoryIds(new HashSet<>());
+                .setCategoryIds(new HashSet<>())
+                .setVersion(0L);
     }
 
     public static BookDtoWithoutCategoryIds getBookDtoWithoutCategoryIdsFromBook(Book book) {
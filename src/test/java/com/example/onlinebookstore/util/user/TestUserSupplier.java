@@ -2,6 +2,7 @@ package com.example.onlinebookstore.util.user;
 
 import com.example.onlinebookstore.model.Role;
 import com.example.onlinebookstore.model.User;
+import com.example.onlinebookstore.security.UserPrincipal;
 import java.util.Set;
 
 public class TestUserSupplier {
@@ -11,4 +12,8 @@ public class TestUserSupplier {
         return new User()
                 .setId(1L).setEmail("user1@i.ua").setPassword("123456").setRoles(Set.of(role));
     }
+
+    public static UserPrincipal getTestUserPrincipal() {
+        return UserPrincipal.of(getTestUser());
+    }
 }
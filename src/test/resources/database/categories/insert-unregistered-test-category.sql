@@ -0,0 +1,2 @@
+INSERT INTO categories (id, name, description, is_deleted)
+VALUES (3, 'Category3', 'Description3', false);
\ No newline at end of file
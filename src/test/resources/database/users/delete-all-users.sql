@@ -1,2 +1,4 @@
+DELETE FROM token_revocations;
+DELETE FROM refresh_tokens;
 DELETE FROM shopping_carts;
 DELETE FROM users;
\ No newline at end of file